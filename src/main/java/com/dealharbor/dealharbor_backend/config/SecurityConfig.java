@@ -81,6 +81,7 @@ public class SecurityConfig {
                     "/api/categories/**",
                     "/api/sellers/**",
                     "/api/testimonials/**",
+                    "/api/homepage",
                     "/oauth2/**",
                     "/swagger-ui/**",
                     "/v3/api-docs/**",
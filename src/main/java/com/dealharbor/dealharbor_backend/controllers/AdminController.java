@@ -9,6 +9,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin")
 @RequiredArgsConstructor
@@ -24,6 +26,21 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getDashboardStats());
     }
 
+    @PostMapping("/dashboard/refresh")
+    public ResponseEntity<AdminDashboardResponse> refreshDashboard() {
+        return ResponseEntity.ok(adminService.refreshDashboardStats());
+    }
+
+    @PostMapping("/categories/reload")
+    public ResponseEntity<List<CategoryResponse>> reloadCategories() {
+        return ResponseEntity.ok(adminService.reloadCategories());
+    }
+
+    @GetMapping("/contention")
+    public ResponseEntity<List<RowContentionResponse>> getHotRows(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(adminService.getHotRows(limit));
+    }
+
     // ✅ ADMIN PRODUCT MANAGEMENT
     @GetMapping("/products")
     public ResponseEntity<PagedResponse<ProductResponse>> getAllProducts(
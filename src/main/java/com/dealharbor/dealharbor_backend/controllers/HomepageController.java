@@ -0,0 +1,25 @@
+package com.dealharbor.dealharbor_backend.controllers;
+
+import com.dealharbor.dealharbor_backend.dto.HomepageResponse;
+import com.dealharbor.dealharbor_backend.services.HomepageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/homepage")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"}, allowCredentials = "true")
+public class HomepageController {
+    
+    private final HomepageService homepageService;
+
+    /**
+     * Get every homepage section in one response
+     * Public endpoint - no authentication required
+     */
+    @GetMapping
+    public ResponseEntity<HomepageResponse> getHomepage() {
+        return ResponseEntity.ok(homepageService.getHomepage());
+    }
+}
@@ -1,7 +1,10 @@
 package com.dealharbor.dealharbor_backend.controllers;
 
 import com.dealharbor.dealharbor_backend.dto.*;
+import com.dealharbor.dealharbor_backend.services.CategoryPreviewService;
 import com.dealharbor.dealharbor_backend.services.ProductService;
+import com.dealharbor.dealharbor_backend.services.UniqueViewerService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -17,11 +20,16 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final CategoryPreviewService categoryPreviewService;
+    private final UniqueViewerService uniqueViewerService;
 
     // Public endpoints
+    // Listing endpoints accept an optional ?cursor= (empty for the first page) to switch
+    // from offset paging to keyset paging, which returns a CursorPagedResponse instead
     
     @GetMapping
-    public ResponseEntity<PagedResponse<ProductResponse>> getAllProducts(
+    public ResponseEntity<?> getAllProducts(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "date_desc") String sortBy,
@@ -32,61 +40,106 @@ public class ProductController {
             @RequestParam(required = false) String sellerId,
             @RequestParam(required = false) Boolean featured,
             @RequestParam(required = false) Boolean hasDiscount) {
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getAllProductsByCursor(
+                    cursor, size, sortBy, categoryId, condition, minPrice, maxPrice, sellerId, featured, hasDiscount));
+        }
         return ResponseEntity.ok(productService.getAllProductsWithFilters(
                 page, size, sortBy, categoryId, condition, minPrice, maxPrice, sellerId, featured, hasDiscount));
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<PagedResponse<ProductResponse>> getProductsByCategory(
+    public ResponseEntity<?> getProductsByCategory(
             @PathVariable String categoryId,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "date_desc") String sortBy) {
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getProductsByCategoryByCursor(categoryId, cursor, size, sortBy));
+        }
         return ResponseEntity.ok(productService.getProductsByCategory(categoryId, page, size, sortBy));
     }
 
+    @GetMapping("/tag/{tag}")
+    public ResponseEntity<PagedResponse<ProductResponse>> getProductsByTag(
+            @PathVariable String tag,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "date_desc") String sortBy) {
+        return ResponseEntity.ok(productService.getProductsByTag(tag, page, size, sortBy));
+    }
+
     @PostMapping("/search")
-    public ResponseEntity<PagedResponse<ProductResponse>> searchProducts(@RequestBody ProductSearchRequest request) {
+    public ResponseEntity<?> searchProducts(@RequestBody ProductSearchRequest request) {
+        if (request.getCursor() != null) {
+            return ResponseEntity.ok(productService.searchProductsByCursor(request));
+        }
         return ResponseEntity.ok(productService.searchProducts(request));
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(productService.suggestProducts(q, limit));
+    }
+
+    @PostMapping("/search/faceted")
+    public ResponseEntity<FacetedSearchResponse> searchProductsWithFacets(@RequestBody ProductSearchRequest request) {
+        return ResponseEntity.ok(productService.searchProductsWithFacets(request));
+    }
+
+    @PostMapping("/facets")
+    public ResponseEntity<ProductFacetsResponse> getProductFacets(@RequestBody ProductSearchRequest request) {
+        return ResponseEntity.ok(productService.getProductFacets(request));
+    }
+
     @GetMapping("/featured")
-    public ResponseEntity<PagedResponse<ProductResponse>> getFeaturedProducts(
+    public ResponseEntity<?> getFeaturedProducts(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getFeaturedProductsByCursor(cursor, size));
+        }
         return ResponseEntity.ok(productService.getFeaturedProducts(page, size));
     }
 
     @GetMapping("/trending")
-    public ResponseEntity<PagedResponse<ProductResponse>> getTrendingProducts(
+    public ResponseEntity<PagedResponse<ProductSummaryResponse>> getTrendingProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size) {
         return ResponseEntity.ok(productService.getTrendingProducts(page, size));
     }
 
     @GetMapping("/recent")
-    public ResponseEntity<PagedResponse<ProductResponse>> getRecentProducts(
+    public ResponseEntity<?> getRecentProducts(
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size) {
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getRecentProductsByCursor(cursor, size));
+        }
         return ResponseEntity.ok(productService.getRecentProducts(page, size));
     }
 
     @GetMapping("/just-listed")
-    public ResponseEntity<List<ProductResponse>> getJustListedProducts(
+    public ResponseEntity<List<ProductSummaryResponse>> getJustListedProducts(
             @RequestParam(defaultValue = "10") int limit,
             @RequestParam(defaultValue = "24") int hours) {
         return ResponseEntity.ok(productService.getJustListedProducts(limit, hours));
     }
 
     @GetMapping("/deals")
-    public ResponseEntity<PagedResponse<ProductResponse>> getDealsOfTheDay(
+    public ResponseEntity<PagedResponse<ProductSummaryResponse>> getDealsOfTheDay(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size) {
         return ResponseEntity.ok(productService.getDealsOfTheDay(page, size));
     }
 
     @GetMapping("/top-rated")
-    public ResponseEntity<PagedResponse<ProductResponse>> getTopRatedProducts(
+    public ResponseEntity<PagedResponse<ProductSummaryResponse>> getTopRatedProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size) {
         return ResponseEntity.ok(productService.getTopRatedProducts(page, size));
@@ -95,7 +148,7 @@ public class ProductController {
     @GetMapping("/by-category-preview")
     public ResponseEntity<List<CategoryProductPreview>> getProductsByCategoryPreview(
             @RequestParam(defaultValue = "6") int productsPerCategory) {
-        return ResponseEntity.ok(productService.getProductsByCategoryPreview(productsPerCategory));
+        return ResponseEntity.ok(categoryPreviewService.getProductsByCategoryPreview(productsPerCategory));
     }
 
     @GetMapping("/homepage-stats")
@@ -104,15 +157,27 @@ public class ProductController {
     }
 
     @GetMapping("/{productId}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable String productId) {
-        return ResponseEntity.ok(productService.getProductById(productId));
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable String productId,
+                                                          Authentication authentication,
+                                                          HttpServletRequest request) {
+        return ResponseEntity.ok(productService.getProductById(productId,
+                UniqueViewerService.viewerKey(authentication, request)));
+    }
+
+    @GetMapping("/{productId}/viewers")
+    public ResponseEntity<ProductViewerStatsResponse> getViewerStats(@PathVariable String productId) {
+        return ResponseEntity.ok(uniqueViewerService.getViewerStats(productId));
     }
 
     @GetMapping("/seller/{sellerId}")
-    public ResponseEntity<PagedResponse<ProductResponse>> getProductsBySeller(
+    public ResponseEntity<?> getProductsBySeller(
             @PathVariable String sellerId,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getProductsBySellerByCursor(sellerId, cursor, size));
+        }
         return ResponseEntity.ok(productService.getProductsBySeller(sellerId, page, size));
     }
 
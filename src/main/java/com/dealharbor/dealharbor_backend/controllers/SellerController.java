@@ -38,10 +38,14 @@ public class SellerController {
      * Public endpoint - no authentication required
      */
     @GetMapping("/{sellerId}/products")
-    public ResponseEntity<PagedResponse<ProductResponse>> getSellerProducts(
+    public ResponseEntity<?> getSellerProducts(
             @PathVariable String sellerId,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getProductsBySellerByCursor(sellerId, cursor, size));
+        }
         return ResponseEntity.ok(productService.getProductsBySeller(sellerId, page, size));
     }
 }
@@ -3,6 +3,8 @@ package com.dealharbor.dealharbor_backend.dto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.time.Instant;
+
 @Data
 @AllArgsConstructor
 public class AdminDashboardResponse {
@@ -33,4 +35,8 @@ public class AdminDashboardResponse {
     private long todayRegistrations;
     private long todayProducts;
     private long todayOrders;
+    
+    // Snapshot metadata
+    private Instant snapshotAt;
+    private long snapshotAgeSeconds;
 }
@@ -17,5 +17,5 @@ public class CategoryProductPreview {
     private String categoryIcon;
     private String categoryImage;
     private int totalProducts;
-    private List<ProductResponse> products;
+    private List<ProductSummaryResponse> products;
 }
@@ -0,0 +1,18 @@
+package com.dealharbor.dealharbor_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Keyset-paged listing: no total count, just whether more rows exist and the cursor to fetch them.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPagedResponse<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
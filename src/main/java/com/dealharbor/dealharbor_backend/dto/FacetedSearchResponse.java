@@ -0,0 +1,11 @@
+package com.dealharbor.dealharbor_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class FacetedSearchResponse {
+    private PagedResponse<ProductResponse> results;
+    private ProductFacetsResponse facets;
+}
@@ -0,0 +1,32 @@
+package com.dealharbor.dealharbor_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Every landing page section in one payload. A section that failed or timed out is listed in
+ * failedSections and carries its value from the previous page, or null if it has never loaded.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomepageResponse {
+    private PagedResponse<ProductResponse> featured;
+    private PagedResponse<ProductSummaryResponse> trending;
+    private PagedResponse<ProductResponse> recent;
+    private List<ProductSummaryResponse> justListed;
+    private PagedResponse<ProductSummaryResponse> deals;
+    private PagedResponse<ProductSummaryResponse> topRated;
+    private List<CategoryProductPreview> categoryPreviews;
+    private HomepageStatsResponse stats;
+    private List<TopSellerResponse> topSellers;
+    private List<TestimonialResponse> testimonials;
+    private List<String> failedSections;
+    private Instant generatedAt;
+}
@@ -0,0 +1,18 @@
+package com.dealharbor.dealharbor_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRangeFacet {
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice; // Exclusive; null for the open-ended top bucket
+    private long count;
+}
@@ -0,0 +1,24 @@
+package com.dealharbor.dealharbor_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Counts for the browse page filters. Each group ignores its own selection,
+ * so switching a category or price range shows how many products it would return.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsResponse {
+    private long totalMatches;
+    private List<FacetCount> categories;
+    private List<FacetCount> conditions;
+    private List<PriceRangeFacet> priceRanges;
+    private long verifiedStudentSellers;
+}
@@ -13,11 +13,14 @@ public class ProductSearchRequest {
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
     private List<ProductCondition> conditions;
+    private List<String> tags; // Matches products carrying any of these tags
     private String location;    
     private Boolean deliveryAvailable;
     private Boolean isNegotiable;
     private Boolean verifiedStudentsOnly; // Filter for verified student sellers
+    private Boolean fuzzy; // Typo-tolerant keyword matching; served from the search index only
     private String sortBy; // price_asc, price_desc, date_asc, date_desc, popularity
     private Integer page;
     private Integer size;
+    private String cursor; // Opaque keyset cursor; when present (empty for the first page) page is ignored
 }
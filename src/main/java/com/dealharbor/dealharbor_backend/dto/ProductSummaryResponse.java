@@ -0,0 +1,26 @@
+package com.dealharbor.dealharbor_backend.dto;
+
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Product card for list views; the full ProductResponse is only served by the product detail endpoint.
+ */
+@Data
+@AllArgsConstructor
+public class ProductSummaryResponse {
+    private String id;
+    private String title;
+    private BigDecimal price;
+    private BigDecimal originalPrice;
+    private ProductCondition condition;
+    private String primaryImageUrl;
+    private String sellerId;
+    private String sellerName;
+    private String sellerBadge;
+    private String categoryId;
+    private String categoryName;
+}
@@ -0,0 +1,17 @@
+package com.dealharbor.dealharbor_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductViewerStatsResponse {
+    private String productId;
+    private long uniqueViewersToday;
+    private long uniqueViewersLast7Days;
+    private long uniqueViewersLast30Days;
+}
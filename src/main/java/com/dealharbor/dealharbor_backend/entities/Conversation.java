@@ -13,7 +13,7 @@ import java.util.List;
 @AllArgsConstructor
 public class Conversation {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
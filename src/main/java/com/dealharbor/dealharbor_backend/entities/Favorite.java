@@ -14,7 +14,7 @@ import java.time.Instant;
 @AllArgsConstructor
 public class Favorite {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
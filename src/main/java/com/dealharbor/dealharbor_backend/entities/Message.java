@@ -13,7 +13,7 @@ import java.time.Instant;
 @AllArgsConstructor
 public class Message {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -15,7 +15,7 @@ import java.time.Instant;
 @AllArgsConstructor
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @Column(nullable = false, unique = true, length = 20)
@@ -73,6 +73,11 @@ public class Order {
     private Instant completedAt;
     private Instant cancelledAt;
 
+    // Optimistic lock for status transitions
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -3,20 +3,31 @@ package com.dealharbor.dealharbor_backend.entities;
 import com.dealharbor.dealharbor_backend.enums.ProductCondition;
 import com.dealharbor.dealharbor_backend.enums.ProductStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.*;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
-@Table(name = "products")
+@DynamicUpdate
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_products_status_price", columnList = "status, price"),
+        @Index(name = "idx_products_category_status", columnList = "category_id, status"),
+        @Index(name = "idx_products_seller_status", columnList = "seller_id, status"),
+        @Index(name = "idx_products_status_seller_rating", columnList = "status, seller_rating DESC, favorite_count DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @Column(nullable = false, length = 200)
@@ -31,6 +42,10 @@ public class Product {
     @Column(precision = 10, scale = 2)
     private BigDecimal originalPrice;
 
+    // Derived from price/originalPrice on every save so deal queries can range-scan an index
+    @Column(precision = 5, scale = 2)
+    private BigDecimal discountPercent;
+
     @Column(nullable = false)
     @Builder.Default
     private Boolean isNegotiable = false;
@@ -55,6 +70,11 @@ public class Product {
     @JoinColumn(name = "seller_id", nullable = false)
     private User seller;
 
+    // Copy of seller.sellerRating for ordering top-rated products without the join;
+    // set on insert, afterwards only changed by ProductRepository.updateSellerRating
+    @Column(precision = 3, scale = 2, updatable = false)
+    private BigDecimal sellerRating;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "approved_by")
     private User approvedBy;
@@ -64,7 +84,17 @@ public class Product {
 
     // Search and categorization
     @Column(columnDefinition = "TEXT")
-    private String tags; // JSON array of tags
+    private String tags; // Comma-joined normalized tag names, kept in sync with productTags for display
+
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "product_tags",
+            joinColumns = @JoinColumn(name = "product_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = @Index(name = "idx_product_tags_tag", columnList = "tag_id"))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    private Set<Tag> productTags = new HashSet<>();
 
     // Status management
     @Enumerated(EnumType.STRING)
@@ -86,6 +116,18 @@ public class Product {
     @Builder.Default
     private Integer favoriteCount = 0;
 
+    // Distinct viewers over the last 7 days; written only by UniqueViewerService
+    @Column(insertable = false, updatable = false, columnDefinition = "integer not null default 0")
+    @Builder.Default
+    private Integer uniqueViewers = 0;
+
+    // Decayed trending score as of trendingScoreAt; written only by the trending checkpoint
+    @Column(insertable = false, updatable = false)
+    private Double trendingScore;
+
+    @Column(insertable = false, updatable = false)
+    private Instant trendingScoreAt;
+
     @Column(nullable = false)
     @Builder.Default
     private Boolean isFeatured = false;
@@ -107,15 +149,35 @@ public class Product {
 
     private Instant soldAt;
 
+    // Optimistic lock; bumped by entity writes only, never by the atomic counter statements
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
         updatedAt = Instant.now();
+        discountPercent = discountPercentOf(price, originalPrice);
+        if (sellerRating == null) {
+            sellerRating = seller != null && seller.getSellerRating() != null ? seller.getSellerRating() : BigDecimal.ZERO;
+        }
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Instant.now();
+        discountPercent = discountPercentOf(price, originalPrice);
+    }
+
+    // Percent off the original price, or null when there is no discount
+    public static BigDecimal discountPercentOf(BigDecimal price, BigDecimal originalPrice) {
+        if (price == null || originalPrice == null || originalPrice.signum() <= 0 || originalPrice.compareTo(price) <= 0) {
+            return null;
+        }
+        return originalPrice.subtract(price)
+                .multiply(BigDecimal.valueOf(100))
+                .divide(originalPrice, 2, RoundingMode.HALF_UP);
     }
 
     // Helper method to get primary image
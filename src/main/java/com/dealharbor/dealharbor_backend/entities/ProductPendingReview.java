@@ -19,7 +19,7 @@ import java.time.Instant;
 public class ProductPendingReview {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -15,7 +15,7 @@ import java.time.Instant;
 @AllArgsConstructor
 public class ProductReview {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,44 @@
+package com.dealharbor.dealharbor_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Serialized HyperLogLog of the distinct viewers of one product on one (UTC) day.
+ */
+@Entity
+@Table(name = "product_viewer_sketches", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"product_id", "view_day"})
+}, indexes = {
+    @Index(name = "idx_product_viewer_sketches_day", columnList = "view_day")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductViewerSketch {
+    @Id
+    @UuidV7
+    private String id;
+
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+
+    @Column(name = "view_day", nullable = false)
+    private LocalDate day;
+
+    // Dense form is 1 + 4096 bytes; sparse sketches are smaller
+    @Column(nullable = false, length = 8192)
+    private byte[] sketch;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = Instant.now();
+    }
+}
@@ -12,7 +12,7 @@ import java.time.Instant;
 @AllArgsConstructor
 public class StudentOtpToken {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @Column(nullable = false)
@@ -0,0 +1,43 @@
+package com.dealharbor.dealharbor_backend.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+import java.util.Locale;
+
+@Entity
+@Table(name = "tags")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tag {
+    @Id
+    @UuidV7
+    private String id;
+
+    // Normalized form, see normalizeName
+    @Column(nullable = false, unique = true, length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+    }
+
+    /**
+     * Canonical tag name: trimmed, lowercased, inner whitespace collapsed and capped at the column length.
+     * Returns null for blank input.
+     */
+    public static String normalizeName(String raw) {
+        if (raw == null) return null;
+        String normalized = raw.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+        if (normalized.isEmpty()) return null;
+        return normalized.length() > 50 ? normalized.substring(0, 50).trim() : normalized;
+    }
+}
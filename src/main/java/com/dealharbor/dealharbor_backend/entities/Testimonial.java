@@ -13,7 +13,7 @@ import java.time.Instant;
 public class Testimonial {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
     
     @Column(name = "user_id")
@@ -3,12 +3,14 @@ package com.dealharbor.dealharbor_backend.entities;
 import com.dealharbor.dealharbor_backend.enums.UserRole;
 import com.dealharbor.dealharbor_backend.enums.SellerBadge;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
+@DynamicUpdate
 @Table(name = "users")
 @Data
 @Builder
@@ -17,7 +19,7 @@ import java.time.Instant;
 public class User implements Serializable {
     private static final long serialVersionUID = 1L;
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @Column(nullable = false, unique = true)
@@ -167,6 +169,11 @@ public class User implements Serializable {
     
     private Instant deletedAt;
 
+    // Optimistic lock; bumped by entity writes only, never by the atomic counter statements
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -16,7 +16,7 @@ import java.time.Instant;
 @AllArgsConstructor
 public class UserReview {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,67 @@
+package com.dealharbor.dealharbor_backend.entities;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48 bits of Unix milliseconds, a 12-bit sequence in rand_a and 62 random bits.
+ * Ids created close together sort close together, so inserts append to the right edge of the primary key
+ * index instead of landing on random pages. Within one millisecond the sequence keeps ids strictly
+ * increasing; a CAS on a single long replaces any lock, and a sequence overflow borrows the next millisecond.
+ * The canonical 36-character form is unchanged, so v4 ids already stored stay valid alongside these.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    // (unix millis << 12) | sequence of the last id handed out
+    private static final AtomicLong LAST_TIME_AND_SEQUENCE = new AtomicLong();
+
+    // One DRBG per thread: ids stay unguessable without sharing a lock between threads
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(() -> {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    });
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static String next() {
+        return next(System.currentTimeMillis());
+    }
+
+    // Takes the clock reading as a parameter so tests can replay bursts and clock regressions
+    static String next(long nowMillis) {
+        long timeAndSequence = nextTimeAndSequence(nowMillis);
+        long mostSignificant = ((timeAndSequence >>> 12) << 16) | 0x7000L | (timeAndSequence & 0xFFFL);
+        long leastSignificant = (RANDOM.get().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+
+    private static long nextTimeAndSequence(long nowMillis) {
+        long now = nowMillis << 12;
+        while (true) {
+            long last = LAST_TIME_AND_SEQUENCE.get();
+            long next = now > last ? now : last + 1;
+            if (LAST_TIME_AND_SEQUENCE.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+/**
+ * Summary row of the windowed category preview query, carrying the category's approved product count.
+ */
+public interface CategoryPreviewView extends ProductSummaryView {
+    long getCategoryTotal();
+}
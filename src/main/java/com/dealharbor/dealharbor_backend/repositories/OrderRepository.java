@@ -32,4 +32,5 @@ public interface OrderRepository extends JpaRepository<Order, String> {
     long countByBuyerIdAndStatus(String buyerId, OrderStatus status);
     long countByStatus(OrderStatus status);
     long countByCreatedAtAfter(Instant since);
+
 }
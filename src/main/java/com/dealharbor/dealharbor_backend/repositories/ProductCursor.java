@@ -0,0 +1,61 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a product listing: the sort it belongs to, the sort key of the
+ * last row returned and that row's id as tie-breaker. Serialized as an opaque URL-safe token.
+ */
+public record ProductCursor(String sortBy, String value, String id) {
+
+    private static final String SEPARATOR = "\n";
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null for a blank token, which means "first page"
+     * @throws RuntimeException "Invalid cursor" when the token is malformed or its sort key does not parse
+     */
+    public static ProductCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            ProductCursor cursor = new ProductCursor(parts[0], parts[1], parts[2]);
+            // Parse eagerly so a tampered value fails here instead of while the query is built
+            cursor.sortKey();
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    /**
+     * The last row's sort key, typed for the cursor's sort order.
+     */
+    public Comparable<?> sortKey() {
+        try {
+            return switch (sortBy) {
+                case "price_asc", "price_desc" -> new BigDecimal(value);
+                case "date_asc", "date_desc" -> Instant.parse(value);
+                case "popularity" -> Integer.valueOf(value);
+                case "relevance" -> Float.valueOf(value);
+                default -> throw new IllegalArgumentException("Unknown sort " + sortBy);
+            };
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
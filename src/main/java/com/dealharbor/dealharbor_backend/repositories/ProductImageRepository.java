@@ -2,7 +2,10 @@ package com.dealharbor.dealharbor_backend.repositories;
 
 import com.dealharbor.dealharbor_backend.entities.ProductImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,4 +13,13 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, Stri
     List<ProductImage> findByProductIdOrderBySortOrderAsc(String productId);
     Optional<ProductImage> findByProductIdAndIsPrimaryTrue(String productId);
     void deleteByProductId(String productId);
+    
+    // Batch image load for a page of products: rows are [productId, ProductImage]
+    @Query("SELECT i.product.id, i FROM ProductImage i WHERE i.product.id IN :productIds ORDER BY i.sortOrder ASC")
+    List<Object[]> findWithProductIdByProductIdIn(@Param("productIds") Collection<String> productIds);
+    
+    // Card images: rows are [productId, imageUrl], primary image first, then by sort order
+    @Query("SELECT i.product.id, i.imageUrl FROM ProductImage i WHERE i.product.id IN :productIds " +
+           "ORDER BY i.isPrimary DESC, i.sortOrder ASC")
+    List<Object[]> findImageUrlsByProductIdIn(@Param("productIds") Collection<String> productIds);
 }
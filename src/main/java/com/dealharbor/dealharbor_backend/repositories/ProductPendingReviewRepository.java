@@ -3,6 +3,7 @@ package com.dealharbor.dealharbor_backend.repositories;
 import com.dealharbor.dealharbor_backend.entities.ProductPendingReview;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -17,6 +18,7 @@ public interface ProductPendingReviewRepository extends JpaRepository<ProductPen
     Optional<ProductPendingReview> findByProductId(String productId);
     
     // Find all unresolved reviews
+    @EntityGraph(attributePaths = {"product", "product.seller", "product.category", "reviewedBy"})
     Page<ProductPendingReview> findByIsResolvedFalse(Pageable pageable);
     
     // Find all resolved reviews
@@ -4,23 +4,42 @@ import com.dealharbor.dealharbor_backend.entities.Product;
 import com.dealharbor.dealharbor_backend.enums.ProductStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
-public interface ProductRepository extends JpaRepository<Product, String> {
+public interface ProductRepository extends JpaRepository<Product, String>, JpaSpecificationExecutor<Product> {
+    
+    // Listing queries fetch seller and category with the products: every ProductResponse needs both
+    @Override
+    @EntityGraph(attributePaths = {"seller", "category"})
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+    
+    @Override
+    @EntityGraph(attributePaths = {"seller", "category"})
+    List<Product> findAllById(Iterable<String> ids);
     
     // Basic queries
+    @EntityGraph(attributePaths = {"seller", "category"})
     Page<Product> findByStatusOrderByCreatedAtDesc(ProductStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = {"seller", "category"})
     Page<Product> findBySellerIdOrderByCreatedAtDesc(String sellerId, Pageable pageable);
+    @EntityGraph(attributePaths = {"seller", "category"})
     Page<Product> findBySellerIdAndStatusOrderByCreatedAtDesc(String sellerId, ProductStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = {"seller", "category"})
     Page<Product> findByCategoryIdAndStatusOrderByCreatedAtDesc(String categoryId, ProductStatus status, Pageable pageable);
     
     // Search queries
+    @EntityGraph(attributePaths = {"seller", "category"})
     @Query("SELECT p FROM Product p WHERE p.status = :status AND " +
            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -29,6 +48,7 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     Page<Product> searchByKeyword(@Param("keyword") String keyword, @Param("status") ProductStatus status, Pageable pageable);
     
     // Admin search (all statuses)
+    @EntityGraph(attributePaths = {"seller", "category"})
     @Query("SELECT p FROM Product p WHERE " +
            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -39,6 +59,7 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     Page<Product> searchByKeywordForAdmin(@Param("keyword") String keyword, Pageable pageable);
     
     // Filter queries
+    @EntityGraph(attributePaths = {"seller", "category"})
     @Query("SELECT p FROM Product p WHERE p.status = :status AND " +
            "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
@@ -55,9 +76,11 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     );
     
     // Featured products
+    @EntityGraph(attributePaths = {"seller", "category"})
     Page<Product> findByStatusAndIsFeaturedTrueOrderByCreatedAtDesc(ProductStatus status, Pageable pageable);
     
     // Admin queries
+    @EntityGraph(attributePaths = {"seller", "category"})
     Page<Product> findByStatusOrderByCreatedAtAsc(ProductStatus status, Pageable pageable);
     
     // Statistics
@@ -69,6 +92,7 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     long countByCategoryAndStatus(com.dealharbor.dealharbor_backend.entities.Category category, ProductStatus status);
     
     // Category-based queries
+    @EntityGraph(attributePaths = {"seller", "category"})
     Page<Product> findByCategoryAndStatus(com.dealharbor.dealharbor_backend.entities.Category category, ProductStatus status, Pageable pageable);
     
     @Query("SELECT COUNT(p) FROM Product p WHERE p.seller.id = :sellerId")
@@ -81,35 +105,98 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     List<Product> findByStatus(ProductStatus status);
     List<Product> findByStatusAndCreatedAtBefore(ProductStatus status, Instant createdBefore);
     
+    // Search index bootstrap - seller and category are needed for every document
+    @Query("SELECT p FROM Product p JOIN FETCH p.seller JOIN FETCH p.category WHERE p.status = :status")
+    List<Product> findAllForIndexing(@Param("status") ProductStatus status);
+    
+    @Query("SELECT p FROM Product p JOIN FETCH p.seller JOIN FETCH p.category WHERE p.seller.id = :sellerId AND p.status = :status")
+    List<Product> findAllForIndexingBySeller(@Param("sellerId") String sellerId, @Param("status") ProductStatus status);
+    
+    // Tag backfill - products whose CSV tags have not been copied into product_tags yet
+    @Query("SELECT p FROM Product p WHERE p.tags IS NOT NULL AND p.tags <> '' AND p.productTags IS EMPTY")
+    List<Product> findWithUnlinkedTags(Pageable pageable);
+    
     // Archival queries
     @Query("SELECT p FROM Product p WHERE p.status = :status AND p.createdAt < :createdBefore")
     List<Product> findProductsForArchival(@Param("status") ProductStatus status, @Param("createdBefore") Instant createdBefore);
     
-    // Homepage queries for landing page
-    @Query("SELECT p FROM Product p WHERE p.status = 'APPROVED' AND p.createdAt >= :since " +
-           "ORDER BY (p.viewCount + p.favoriteCount * 2) DESC, p.createdAt DESC")
-    Page<Product> findTrendingProducts(@Param("since") Instant since, Pageable pageable);
-    
-    @Query("SELECT p FROM Product p WHERE p.status = 'APPROVED' AND " +
-           "p.originalPrice > 0 AND " +
-           "((p.originalPrice - p.price) / p.originalPrice) >= 0.2 " +
-           "ORDER BY ((p.originalPrice - p.price) / p.originalPrice) DESC, p.createdAt DESC")
-    Page<Product> findDealsOfTheDay(Pageable pageable);
-    
-    @Query("SELECT p FROM Product p WHERE p.status = 'APPROVED' " +
-           "ORDER BY p.seller.sellerRating DESC, p.favoriteCount DESC, p.viewCount DESC")
-    Page<Product> findTopRatedProducts(Pageable pageable);
+    // Homepage card queries select only the summary columns instead of hydrating products
+    String SUMMARY_SELECT = "SELECT p.id AS id, p.title AS title, p.price AS price, " +
+            "p.originalPrice AS originalPrice, p.condition AS condition, " +
+            "s.id AS sellerId, s.name AS sellerName, s.sellerBadge AS sellerBadge, " +
+            "c.id AS categoryId, c.name AS categoryName " +
+            "FROM Product p JOIN p.seller s JOIN p.category c ";
+    
+    // Trending ranks come from TrendingService; this only fetches the cards for one page of ids
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids AND p.status = 'APPROVED'")
+    List<ProductSummaryView> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+    
+    // Served by the partial index idx_products_approved_discount (see ProductDiscountBackfillService)
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'APPROVED' AND p.discountPercent >= 20 " +
+           "ORDER BY p.discountPercent DESC, p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.status = 'APPROVED' AND p.discountPercent >= 20")
+    Page<ProductSummaryView> findDealSummaries(Pageable pageable);
+    
+    // Orders on the denormalized p.sellerRating so idx_products_status_seller_rating serves the page
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'APPROVED' " +
+           "ORDER BY p.sellerRating DESC, p.favoriteCount DESC, p.viewCount DESC",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.status = 'APPROVED'")
+    Page<ProductSummaryView> findTopRatedSummaries(Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE Product p SET p.favoriteCount = p.favoriteCount + 1 WHERE p.id = :productId")
+    int incrementFavoriteCount(@Param("productId") String productId);
+    
+    @Modifying
+    @Query("UPDATE Product p SET p.favoriteCount = p.favoriteCount - 1 WHERE p.id = :productId AND p.favoriteCount > 0")
+    int decrementFavoriteCount(@Param("productId") String productId);
+    
+    @Modifying
+    @Query("UPDATE Product p SET p.sellerRating = :rating WHERE p.seller.id = :sellerId")
+    int updateSellerRating(@Param("sellerId") String sellerId, @Param("rating") BigDecimal rating);
+    
+    // Newest approved products of every active category plus each category's total, in one pass:
+    // ROW_NUMBER picks the top N per category and COUNT(*) OVER the same partition gives the count
+    @Query(value = "SELECT ranked.id AS \"id\", ranked.title AS \"title\", ranked.price AS \"price\", " +
+           "ranked.original_price AS \"originalPrice\", ranked.condition AS \"condition\", " +
+           "ranked.seller_id AS \"sellerId\", ranked.seller_name AS \"sellerName\", " +
+           "ranked.seller_badge AS \"sellerBadge\", ranked.category_id AS \"categoryId\", " +
+           "ranked.category_name AS \"categoryName\", ranked.category_total AS \"categoryTotal\" " +
+           "FROM (SELECT p.id, p.title, p.price, p.original_price, p.condition, p.seller_id, " +
+           "u.name AS seller_name, u.seller_badge, p.category_id, c.name AS category_name, " +
+           "ROW_NUMBER() OVER (PARTITION BY p.category_id ORDER BY p.created_at DESC) AS rn, " +
+           "COUNT(*) OVER (PARTITION BY p.category_id) AS category_total " +
+           "FROM products p JOIN users u ON u.id = p.seller_id JOIN categories c ON c.id = p.category_id " +
+           "WHERE p.status = 'APPROVED' AND c.is_active = true) ranked " +
+           "WHERE ranked.rn <= :perCategory ORDER BY ranked.category_id, ranked.rn",
+           nativeQuery = true)
+    List<CategoryPreviewView> findCategoryPreviewRows(@Param("perCategory") int perCategory);
     
     @Query("SELECT c.name, COUNT(p) FROM Product p JOIN p.category c " +
            "WHERE p.status = 'APPROVED' GROUP BY c.name ORDER BY COUNT(p) DESC")
     List<Object[]> findMostPopularCategory();
     
+    // Statistics reconciliation
+    @Query("SELECT p.status, COUNT(p) FROM Product p GROUP BY p.status")
+    List<Object[]> countGroupedByStatus();
+    
+    @Query("SELECT p.category.id, COUNT(p) FROM Product p WHERE p.status = 'APPROVED' GROUP BY p.category.id")
+    List<Object[]> countApprovedGroupedByCategory();
+    
+    @Query("SELECT p.seller.id, COUNT(p) FROM Product p GROUP BY p.seller.id")
+    List<Object[]> countGroupedBySeller();
+    
+    // [sum of discount percents, discounted product count]
+    @Query("SELECT COALESCE(SUM(p.discountPercent), 0), COUNT(p) " +
+           "FROM Product p WHERE p.status = 'APPROVED' AND p.discountPercent > 0")
+    List<Object[]> sumApprovedDiscountPercent();
+    
     // Calculate average discount percentage for products with discounts
-    @Query("SELECT COALESCE(AVG((p.originalPrice - p.price) / p.originalPrice * 100), 0) " +
-           "FROM Product p WHERE p.status = 'APPROVED' AND p.originalPrice > 0 AND p.originalPrice > p.price")
+    @Query("SELECT COALESCE(AVG(p.discountPercent), 0) " +
+           "FROM Product p WHERE p.status = 'APPROVED' AND p.discountPercent > 0")
     Double calculateAverageDiscountPercent();
     
     // Find products created within the last N hours
-    @Query("SELECT p FROM Product p WHERE p.status = 'APPROVED' AND p.createdAt >= :since ORDER BY p.createdAt DESC")
-    List<Product> findJustListedProducts(@Param("since") Instant since, Pageable pageable);
+    @Query(SUMMARY_SELECT + "WHERE p.status = 'APPROVED' AND p.createdAt >= :since ORDER BY p.createdAt DESC")
+    List<ProductSummaryView> findJustListedSummaries(@Param("since") Instant since, Pageable pageable);
 }
@@ -0,0 +1,215 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.Tag;
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Composable filters for product listing queries.
+ * Each factory returns null for an absent filter so callers can pass request values straight through.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> hasStatus(ProductStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Product> inCategory(String categoryId) {
+        if (categoryId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Product> hasCondition(String condition) {
+        if (condition == null) return null;
+        ProductCondition parsed;
+        try {
+            parsed = ProductCondition.valueOf(condition.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            // Unknown condition matches nothing, same as the old in-memory filter
+            return (root, query, cb) -> cb.disjunction();
+        }
+        return (root, query, cb) -> cb.equal(root.get("condition"), parsed);
+    }
+
+    public static Specification<Product> hasConditionIn(Collection<ProductCondition> conditions) {
+        if (conditions == null || conditions.isEmpty()) return null;
+        return (root, query, cb) -> root.get("condition").in(conditions);
+    }
+
+    /**
+     * Products linked to any of the (already normalized) tag names, via EXISTS so rows are not duplicated.
+     */
+    public static Specification<Product> hasAnyTag(Collection<String> tagNames) {
+        if (tagNames == null || tagNames.isEmpty()) return null;
+        return (root, query, cb) -> {
+            Subquery<String> linked = query.subquery(String.class);
+            Root<Product> product = linked.correlate(root);
+            Join<Product, Tag> tag = product.join("productTags");
+            linked.select(tag.get("id")).where(tag.get("name").in(tagNames));
+            return cb.exists(linked);
+        };
+    }
+
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        if (minPrice == null) return null;
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        if (maxPrice == null) return null;
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Product> soldBy(String sellerId) {
+        if (sellerId == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("seller").get("id"), sellerId);
+    }
+
+    public static Specification<Product> isFeatured(Boolean featured) {
+        if (featured == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("isFeatured"), featured);
+    }
+
+    public static Specification<Product> hasDiscount(Boolean hasDiscount) {
+        if (hasDiscount == null || !hasDiscount) return null;
+        return (root, query, cb) -> cb.and(
+                cb.isNotNull(root.get("originalPrice")),
+                cb.greaterThan(root.get("originalPrice"), root.get("price")));
+    }
+
+    public static Specification<Product> offersDelivery(Boolean deliveryAvailable) {
+        if (deliveryAvailable == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("deliveryAvailable"), deliveryAvailable);
+    }
+
+    public static Specification<Product> isNegotiable(Boolean negotiable) {
+        if (negotiable == null) return null;
+        return (root, query, cb) -> cb.equal(root.get("isNegotiable"), negotiable);
+    }
+
+    public static Specification<Product> soldByVerifiedStudent(Boolean verifiedOnly) {
+        if (verifiedOnly == null || !verifiedOnly) return null;
+        return (root, query, cb) -> cb.isTrue(root.get("seller").get("isVerifiedStudent"));
+    }
+
+    public static Specification<Product> matchesKeyword(String keyword) {
+        if (keyword == null || keyword.isBlank()) return null;
+        String pattern = "%" + keyword.trim().toLowerCase() + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern),
+                cb.like(cb.lower(root.get("description")), pattern),
+                cb.like(cb.lower(root.get("brand")), pattern));
+    }
+
+    /**
+     * All browse filters from the public product listing combined with AND.
+     */
+    public static Specification<Product> browse(
+            ProductStatus status, String categoryId, String condition,
+            BigDecimal minPrice, BigDecimal maxPrice,
+            String sellerId, Boolean featured, Boolean hasDiscount) {
+        List<Specification<Product>> filters = new ArrayList<>();
+        filters.add(hasStatus(status));
+        addIfPresent(filters, inCategory(categoryId));
+        addIfPresent(filters, hasCondition(condition));
+        addIfPresent(filters, priceAtLeast(minPrice));
+        addIfPresent(filters, priceAtMost(maxPrice));
+        addIfPresent(filters, soldBy(sellerId));
+        addIfPresent(filters, isFeatured(featured));
+        addIfPresent(filters, hasDiscount(hasDiscount));
+        return Specification.allOf(filters);
+    }
+
+    // Keyset pagination
+
+    /**
+     * Canonical sort name for keyset listings; unknown values fall back to newest first.
+     */
+    public static String keysetSortName(String sortBy) {
+        if (sortBy == null) return "date_desc";
+        return switch (sortBy) {
+            case "price_asc", "price_desc", "date_asc", "popularity" -> sortBy;
+            default -> "date_desc";
+        };
+    }
+
+    /**
+     * Total order for keyset paging: the sort field, then id in the same direction.
+     */
+    public static Sort keysetSort(String sortBy) {
+        String canonical = keysetSortName(sortBy);
+        Sort.Direction direction = isAscending(canonical) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, keysetField(canonical)).and(Sort.by(direction, "id"));
+    }
+
+    public static ProductCursor cursorFor(Product product, String sortBy) {
+        String canonical = keysetSortName(sortBy);
+        String value = switch (keysetField(canonical)) {
+            case "price" -> product.getPrice().toPlainString();
+            case "uniqueViewers" -> String.valueOf(product.getUniqueViewers());
+            default -> product.getCreatedAt().toString();
+        };
+        return new ProductCursor(canonical, value, product.getId());
+    }
+
+    /**
+     * Rows strictly after the cursor position in {@link #keysetSort} order.
+     */
+    public static Specification<Product> after(ProductCursor cursor) {
+        String field = keysetField(cursor.sortBy());
+        boolean ascending = isAscending(cursor.sortBy());
+        return (root, query, cb) -> switch (field) {
+            case "price" -> keysetPredicate(root, cb, field, (BigDecimal) cursor.sortKey(), cursor.id(), ascending);
+            case "uniqueViewers" -> keysetPredicate(root, cb, field, (Integer) cursor.sortKey(), cursor.id(), ascending);
+            default -> keysetPredicate(root, cb, field, (Instant) cursor.sortKey(), cursor.id(), ascending);
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate keysetPredicate(
+            Root<Product> root, CriteriaBuilder cb, String field, T value, String id, boolean ascending) {
+        Path<T> key = root.get(field);
+        Path<String> idPath = root.get("id");
+        if (ascending) {
+            return cb.or(cb.greaterThan(key, value),
+                    cb.and(cb.equal(key, value), cb.greaterThan(idPath, id)));
+        }
+        return cb.or(cb.lessThan(key, value),
+                cb.and(cb.equal(key, value), cb.lessThan(idPath, id)));
+    }
+
+    private static String keysetField(String canonicalSort) {
+        return switch (canonicalSort) {
+            case "price_asc", "price_desc" -> "price";
+            case "popularity" -> "uniqueViewers";
+            default -> "createdAt";
+        };
+    }
+
+    private static boolean isAscending(String canonicalSort) {
+        return canonicalSort.equals("price_asc") || canonicalSort.equals("date_asc");
+    }
+
+    private static void addIfPresent(List<Specification<Product>> filters, Specification<Product> filter) {
+        if (filter != null) {
+            filters.add(filter);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+import com.dealharbor.dealharbor_backend.enums.SellerBadge;
+
+import java.math.BigDecimal;
+
+/**
+ * Closed projection over the columns a product card needs; the getters match the aliases of
+ * {@link ProductRepository#SUMMARY_SELECT}.
+ */
+public interface ProductSummaryView {
+    String getId();
+    String getTitle();
+    BigDecimal getPrice();
+    BigDecimal getOriginalPrice();
+    ProductCondition getCondition();
+    String getSellerId();
+    String getSellerName();
+    SellerBadge getSellerBadge();
+    String getCategoryId();
+    String getCategoryName();
+}
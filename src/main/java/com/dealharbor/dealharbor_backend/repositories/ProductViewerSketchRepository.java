@@ -0,0 +1,23 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.entities.ProductViewerSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductViewerSketchRepository extends JpaRepository<ProductViewerSketch, String> {
+    List<ProductViewerSketch> findByProductIdAndDayGreaterThanEqual(String productId, LocalDate since);
+    List<ProductViewerSketch> findByProductIdInAndDayGreaterThanEqual(Collection<String> productIds, LocalDate since);
+    
+    @Query("SELECT DISTINCT s.productId FROM ProductViewerSketch s WHERE s.day >= :since")
+    List<String> findProductIdsSince(@Param("since") LocalDate since);
+    
+    @Modifying
+    @Query("DELETE FROM ProductViewerSketch s WHERE s.day < :before")
+    int deleteByDayBefore(@Param("before") LocalDate before);
+}
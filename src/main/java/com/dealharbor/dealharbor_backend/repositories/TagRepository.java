@@ -0,0 +1,22 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.entities.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TagRepository extends JpaRepository<Tag, String> {
+    List<Tag> findByNameIn(Collection<String> names);
+
+    // A name inserted concurrently by another transaction is skipped instead of failing on the unique constraint
+    // (ids are fresh UUIDv7s, so the name is the only constraint that can conflict)
+    @Modifying
+    @Query(value = "INSERT INTO tags (id, name, created_at) VALUES (:id, :name, :createdAt) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("id") String id, @Param("name") String name, @Param("createdAt") Instant createdAt);
+}
@@ -4,10 +4,13 @@ import com.dealharbor.dealharbor_backend.entities.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, String> {
@@ -53,7 +56,32 @@ public interface UserRepository extends JpaRepository<User, String> {
     long countByIsVerifiedStudentTrue();
     long countByCreatedAtAfter(Instant since);
     
+    // [active, verified students] in one scan
+    @Query("SELECT COALESCE(SUM(CASE WHEN u.deleted = false AND u.enabled = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN u.isVerifiedStudent = true THEN 1 ELSE 0 END), 0) FROM User u")
+    List<Object[]> countUserStatistics();
+    
     // Seller queries for homepage
     @Query("SELECT u FROM User u WHERE u.deleted = false AND u.enabled = true AND u.isBanned = false AND u.totalSales > 0 ORDER BY u.sellerRating DESC, u.totalSales DESC")
     java.util.List<User> findActiveSellers();
+    
+    // Atomic counter updates, used through CounterService instead of read-modify-write saves
+    @Modifying
+    @Query("UPDATE User u SET u.totalListings = u.totalListings + 1, u.activeListings = u.activeListings + 1 " +
+           "WHERE u.id = :userId")
+    int incrementListings(@Param("userId") String userId);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.activeListings = u.activeListings - 1 WHERE u.id = :userId AND u.activeListings > 0")
+    int decrementActiveListings(@Param("userId") String userId);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.totalSales = u.totalSales + 1, u.totalRevenue = u.totalRevenue + :amount, " +
+           "u.activeListings = CASE WHEN u.activeListings > 0 THEN u.activeListings - 1 ELSE 0 END, " +
+           "u.firstSaleAt = COALESCE(u.firstSaleAt, :soldAt) WHERE u.id = :userId")
+    int recordSale(@Param("userId") String userId, @Param("amount") BigDecimal amount, @Param("soldAt") Instant soldAt);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.totalPurchases = u.totalPurchases + 1 WHERE u.id = :userId")
+    int incrementPurchases(@Param("userId") String userId);
 }
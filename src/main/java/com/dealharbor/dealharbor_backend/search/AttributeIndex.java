@@ -0,0 +1,291 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.entities.Tag;
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One compressed (Roaring) bitmap per attribute value over document ordinals. Filters resolve
+ * to bitmap intersections and facet counts are intersection cardinalities, so neither touches documents.
+ */
+final class AttributeIndex implements OrdinalIndex {
+
+    // Filter slots; facets skip one slot at a time to count a dimension against the other filters
+    private static final int CATEGORY = 0;
+    private static final int CONDITION = 1;
+    private static final int PRICE = 2;
+    private static final int VERIFIED_SELLER = 3;
+    private static final int FEATURED = 4;
+    private static final int DELIVERY = 5;
+    private static final int NEGOTIABLE = 6;
+    private static final int TAG = 7;
+    private static final int FILTER_SLOTS = 8;
+
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<ProductCondition, RoaringBitmap> byCondition = new EnumMap<>(ProductCondition.class);
+    private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+    private final RoaringBitmap[] byPriceBucket = new RoaringBitmap[PriceBuckets.count()];
+    private final RoaringBitmap verifiedSeller = new RoaringBitmap();
+    private final RoaringBitmap featured = new RoaringBitmap();
+    private final RoaringBitmap deliveryAvailable = new RoaringBitmap();
+    private final RoaringBitmap negotiable = new RoaringBitmap();
+    private long[] priceCents = new long[1024];
+
+    AttributeIndex() {
+        clear();
+    }
+
+    @Override
+    public void add(int ordinal, ProductDocument document) {
+        all.add(ordinal);
+        byCategory.computeIfAbsent(document.categoryId(), id -> new RoaringBitmap()).add(ordinal);
+        byCondition.get(document.condition()).add(ordinal);
+        for (String tag : tagsOf(document)) {
+            byTag.computeIfAbsent(tag, name -> new RoaringBitmap()).add(ordinal);
+        }
+        byPriceBucket[PriceBuckets.bucketOf(document.price())].add(ordinal);
+        setIf(verifiedSeller, ordinal, document.sellerVerifiedStudent());
+        setIf(featured, ordinal, document.featured());
+        setIf(deliveryAvailable, ordinal, document.deliveryAvailable());
+        setIf(negotiable, ordinal, document.negotiable());
+
+        if (ordinal >= priceCents.length) {
+            priceCents = Arrays.copyOf(priceCents, Math.max(ordinal + 1, priceCents.length * 2));
+        }
+        priceCents[ordinal] = toCents(document.price(), RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public void remove(int ordinal, ProductDocument document) {
+        all.remove(ordinal);
+        RoaringBitmap category = byCategory.get(document.categoryId());
+        if (category != null) {
+            category.remove(ordinal);
+            if (category.isEmpty()) {
+                byCategory.remove(document.categoryId());
+            }
+        }
+        byCondition.get(document.condition()).remove(ordinal);
+        for (String tag : tagsOf(document)) {
+            RoaringBitmap tagged = byTag.get(tag);
+            if (tagged != null) {
+                tagged.remove(ordinal);
+                if (tagged.isEmpty()) {
+                    byTag.remove(tag);
+                }
+            }
+        }
+        byPriceBucket[PriceBuckets.bucketOf(document.price())].remove(ordinal);
+        verifiedSeller.remove(ordinal);
+        featured.remove(ordinal);
+        deliveryAvailable.remove(ordinal);
+        negotiable.remove(ordinal);
+    }
+
+    @Override
+    public void clear() {
+        all.clear();
+        byCategory.clear();
+        byTag.clear();
+        for (ProductCondition condition : ProductCondition.values()) {
+            byCondition.put(condition, new RoaringBitmap());
+        }
+        for (int i = 0; i < byPriceBucket.length; i++) {
+            byPriceBucket[i] = new RoaringBitmap();
+        }
+        verifiedSeller.clear();
+        featured.clear();
+        deliveryAvailable.clear();
+        negotiable.clear();
+        priceCents = new long[1024];
+    }
+
+    /**
+     * Converts long runs to run containers after bulk loads; incremental updates keep working either way.
+     */
+    void optimize() {
+        all.runOptimize();
+        byCategory.values().forEach(RoaringBitmap::runOptimize);
+        byCondition.values().forEach(RoaringBitmap::runOptimize);
+        byTag.values().forEach(RoaringBitmap::runOptimize);
+        for (RoaringBitmap bucket : byPriceBucket) {
+            bucket.runOptimize();
+        }
+        verifiedSeller.runOptimize();
+        featured.runOptimize();
+        deliveryAvailable.runOptimize();
+        negotiable.runOptimize();
+    }
+
+    int categoryCount(String categoryId) {
+        RoaringBitmap bits = byCategory.get(categoryId);
+        return bits != null ? bits.getCardinality() : 0;
+    }
+
+    /**
+     * Ordinals in {@code base} (every indexed document when null) that pass every filter.
+     */
+    RoaringBitmap filter(RoaringBitmap base, SearchFilter filter) {
+        return intersect(base != null ? base : all, masks(filter), -1);
+    }
+
+    FacetCounts facets(RoaringBitmap base, SearchFilter filter) {
+        RoaringBitmap source = base != null ? base : all;
+        RoaringBitmap[] masks = masks(filter);
+        RoaringBitmap matches = intersect(source, masks, -1);
+
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        RoaringBitmap withoutCategory = intersect(source, masks, CATEGORY);
+        byCategory.forEach((categoryId, bits) -> {
+            int count = RoaringBitmap.andCardinality(withoutCategory, bits);
+            if (count > 0) {
+                categories.put(categoryId, count);
+            }
+        });
+
+        Map<ProductCondition, Integer> conditions = new EnumMap<>(ProductCondition.class);
+        RoaringBitmap withoutCondition = intersect(source, masks, CONDITION);
+        byCondition.forEach((condition, bits) ->
+                conditions.put(condition, RoaringBitmap.andCardinality(withoutCondition, bits)));
+
+        int[] priceBuckets = new int[byPriceBucket.length];
+        RoaringBitmap withoutPrice = intersect(source, masks, PRICE);
+        for (int i = 0; i < byPriceBucket.length; i++) {
+            priceBuckets[i] = RoaringBitmap.andCardinality(withoutPrice, byPriceBucket[i]);
+        }
+
+        int verified = RoaringBitmap.andCardinality(intersect(source, masks, VERIFIED_SELLER), verifiedSeller);
+
+        return new FacetCounts(matches.getCardinality(), categories, conditions, priceBuckets, verified);
+    }
+
+    int bitmapCount() {
+        return 5 + byCategory.size() + byCondition.size() + byTag.size() + byPriceBucket.length;
+    }
+
+    long sizeInBytes() {
+        long bytes = all.getLongSizeInBytes()
+                + verifiedSeller.getLongSizeInBytes()
+                + featured.getLongSizeInBytes()
+                + deliveryAvailable.getLongSizeInBytes()
+                + negotiable.getLongSizeInBytes()
+                + (long) priceCents.length * Long.BYTES;
+        for (RoaringBitmap bits : byCategory.values()) {
+            bytes += bits.getLongSizeInBytes();
+        }
+        for (RoaringBitmap bits : byCondition.values()) {
+            bytes += bits.getLongSizeInBytes();
+        }
+        for (RoaringBitmap bits : byTag.values()) {
+            bytes += bits.getLongSizeInBytes();
+        }
+        for (RoaringBitmap bits : byPriceBucket) {
+            bytes += bits.getLongSizeInBytes();
+        }
+        return bytes;
+    }
+
+    private RoaringBitmap[] masks(SearchFilter filter) {
+        RoaringBitmap[] masks = new RoaringBitmap[FILTER_SLOTS];
+        if (filter.categoryId() != null) {
+            masks[CATEGORY] = byCategory.getOrDefault(filter.categoryId(), new RoaringBitmap());
+        }
+        if (!filter.conditions().isEmpty()) {
+            masks[CONDITION] = RoaringBitmap.or(filter.conditions().stream().map(byCondition::get).iterator());
+        }
+        if (!filter.tags().isEmpty()) {
+            masks[TAG] = RoaringBitmap.or(filter.tags().stream()
+                    .map(tag -> byTag.getOrDefault(tag, new RoaringBitmap()))
+                    .iterator());
+        }
+        if (filter.hasPriceRange()) {
+            masks[PRICE] = priceRange(filter.minPrice(), filter.maxPrice());
+        }
+        if (filter.verifiedStudentsOnly()) {
+            masks[VERIFIED_SELLER] = verifiedSeller;
+        }
+        masks[FEATURED] = booleanMask(featured, filter.featured());
+        masks[DELIVERY] = booleanMask(deliveryAvailable, filter.deliveryAvailable());
+        masks[NEGOTIABLE] = booleanMask(negotiable, filter.negotiable());
+        return masks;
+    }
+
+    /**
+     * Whole buckets inside the range are taken as-is; only the boundary buckets are checked per document.
+     */
+    private RoaringBitmap priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        long min = minPrice != null ? toCents(minPrice, RoundingMode.CEILING) : Long.MIN_VALUE;
+        long max = maxPrice != null ? toCents(maxPrice, RoundingMode.FLOOR) : Long.MAX_VALUE;
+
+        RoaringBitmap result = new RoaringBitmap();
+        for (int bucket = 0; bucket < byPriceBucket.length; bucket++) {
+            long lower = toCents(PriceBuckets.lowerBound(bucket), RoundingMode.UNNECESSARY);
+            BigDecimal upperBound = PriceBuckets.upperBound(bucket);
+            long upper = upperBound != null ? toCents(upperBound, RoundingMode.UNNECESSARY) - 1 : Long.MAX_VALUE;
+
+            if (upper < min || lower > max) {
+                continue;
+            }
+            RoaringBitmap bits = byPriceBucket[bucket];
+            if (lower >= min && upper <= max) {
+                result.or(bits);
+                continue;
+            }
+            bits.forEach((int ordinal) -> {
+                if (priceCents[ordinal] >= min && priceCents[ordinal] <= max) {
+                    result.add(ordinal);
+                }
+            });
+        }
+        return result;
+    }
+
+    private RoaringBitmap booleanMask(RoaringBitmap attribute, Boolean wanted) {
+        if (wanted == null) {
+            return null;
+        }
+        return wanted ? attribute : RoaringBitmap.andNot(all, attribute);
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap base, RoaringBitmap[] masks, int skip) {
+        RoaringBitmap result = base.clone();
+        for (int i = 0; i < masks.length; i++) {
+            if (i != skip && masks[i] != null) {
+                result.and(masks[i]);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> tagsOf(ProductDocument document) {
+        Set<String> tags = new HashSet<>();
+        for (String tag : document.tags()) {
+            String name = Tag.normalizeName(tag);
+            if (name != null) {
+                tags.add(name);
+            }
+        }
+        return tags;
+    }
+
+    private static void setIf(RoaringBitmap bits, int ordinal, boolean value) {
+        if (value) {
+            bits.add(ordinal);
+        }
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode rounding) {
+        return amount.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+}
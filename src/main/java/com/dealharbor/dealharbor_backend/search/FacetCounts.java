@@ -0,0 +1,18 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+
+import java.util.Map;
+
+/**
+ * Facet counts for one query. Each dimension is counted with every filter applied
+ * except its own, so the UI can show how many results selecting another value would give.
+ */
+public record FacetCounts(
+        int totalMatches,
+        Map<String, Integer> categories,
+        Map<ProductCondition, Integer> conditions,
+        int[] priceBuckets,
+        int verifiedStudentSellers
+) {
+}
@@ -0,0 +1,159 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Term -> posting list index with BM25 scoring.
+ * Postings are parallel primitive arrays (ordinal, weighted term frequency) appended in ordinal order.
+ * Removed documents stay in the arrays until the engine compacts; the live bitset filters them out
+ * and the per-term live document frequency keeps IDF accurate in the meantime.
+ */
+final class InvertedIndex implements OrdinalIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Field boosts are folded into term frequency (BM25F-lite)
+    private static final int TITLE_WEIGHT = 3;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int MODEL_WEIGHT = 2;
+    private static final int TAG_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private int[] documentLengths = new int[1024];
+    private long totalLength;
+    private int liveDocuments;
+
+    @Override
+    public void add(int ordinal, ProductDocument document) {
+        Map<String, Integer> frequencies = termFrequencies(document);
+        int length = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).append(ordinal, entry.getValue());
+            length += entry.getValue();
+        }
+
+        if (ordinal >= documentLengths.length) {
+            documentLengths = Arrays.copyOf(documentLengths, Math.max(ordinal + 1, documentLengths.length * 2));
+        }
+        documentLengths[ordinal] = length;
+        totalLength += length;
+        liveDocuments++;
+    }
+
+    @Override
+    public void remove(int ordinal, ProductDocument document) {
+        for (String term : termFrequencies(document).keySet()) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                list.liveCount--;
+            }
+        }
+        totalLength -= documentLengths[ordinal];
+        liveDocuments--;
+    }
+
+    @Override
+    public void clear() {
+        postings.clear();
+        documentLengths = new int[1024];
+        totalLength = 0;
+        liveDocuments = 0;
+    }
+
+    /**
+     * Accumulates BM25 scores for every live document containing at least one query term.
+     *
+     * @param queryTerms term -> boost; fuzzy expansions carry a boost below 1
+     * @param scores scratch array indexed by ordinal, must be at least as long as the ordinal space
+     * @param matched receives the ordinals that scored
+     */
+    void score(Map<String, Float> queryTerms, BitSet live, float[] scores, BitSet matched) {
+        if (liveDocuments == 0) {
+            return;
+        }
+        float averageLength = (float) totalLength / liveDocuments;
+
+        for (Map.Entry<String, Float> term : queryTerms.entrySet()) {
+            PostingList list = postings.get(term.getKey());
+            if (list == null || list.liveCount <= 0) {
+                continue;
+            }
+            float idf = term.getValue()
+                    * (float) Math.log(1 + (liveDocuments - list.liveCount + 0.5) / (list.liveCount + 0.5));
+
+            for (int i = 0; i < list.size; i++) {
+                int ordinal = list.ordinals[i];
+                if (!live.get(ordinal)) {
+                    continue;
+                }
+                int tf = list.frequencies[i];
+                float norm = K1 * (1 - B + B * documentLengths[ordinal] / averageLength);
+                scores[ordinal] += idf * (tf * (K1 + 1)) / (tf + norm);
+                matched.set(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Marks live ordinals containing any of the terms, without scoring.
+     */
+    void match(Collection<String> queryTerms, BitSet live, BitSet matched) {
+        for (String term : queryTerms) {
+            PostingList list = postings.get(term);
+            if (list == null || list.liveCount <= 0) {
+                continue;
+            }
+            for (int i = 0; i < list.size; i++) {
+                if (live.get(list.ordinals[i])) {
+                    matched.set(list.ordinals[i]);
+                }
+            }
+        }
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    private static Map<String, Integer> termFrequencies(ProductDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addField(frequencies, document.title(), TITLE_WEIGHT);
+        addField(frequencies, document.brand(), BRAND_WEIGHT);
+        addField(frequencies, document.model(), MODEL_WEIGHT);
+        for (String tag : document.tags()) {
+            addField(frequencies, tag, TAG_WEIGHT);
+        }
+        addField(frequencies, document.description(), DESCRIPTION_WEIGHT);
+        return frequencies;
+    }
+
+    private static void addField(Map<String, Integer> frequencies, String text, int weight) {
+        for (String term : TextAnalyzer.analyze(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private static final class PostingList {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int liveCount;
+
+        void append(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+            liveCount++;
+        }
+    }
+}
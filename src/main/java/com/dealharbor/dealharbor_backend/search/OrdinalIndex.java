@@ -0,0 +1,14 @@
+package com.dealharbor.dealharbor_backend.search;
+
+/**
+ * A secondary structure maintained by {@link ProductSearchEngine} over document ordinals.
+ * All calls happen under the engine's write lock, so implementations need no locking of their own.
+ */
+interface OrdinalIndex {
+
+    void add(int ordinal, ProductDocument document);
+
+    void remove(int ordinal, ProductDocument document);
+
+    void clear();
+}
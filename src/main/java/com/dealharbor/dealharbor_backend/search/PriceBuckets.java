@@ -0,0 +1,40 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed price histogram used for facet counts. Bucket {@code i} covers
+ * {@code [EDGES[i], EDGES[i + 1])}; the last bucket is open ended.
+ */
+public final class PriceBuckets {
+
+    private static final long[] EDGES = {0, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000};
+
+    private PriceBuckets() {
+    }
+
+    public static int count() {
+        return EDGES.length;
+    }
+
+    public static int bucketOf(BigDecimal price) {
+        long whole = price.longValue();
+        for (int i = EDGES.length - 1; i > 0; i--) {
+            if (whole >= EDGES[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    public static BigDecimal lowerBound(int bucket) {
+        return BigDecimal.valueOf(EDGES[bucket]);
+    }
+
+    /**
+     * @return exclusive upper bound, or null for the open-ended last bucket
+     */
+    public static BigDecimal upperBound(int bucket) {
+        return bucket + 1 < EDGES.length ? BigDecimal.valueOf(EDGES[bucket + 1]) : null;
+    }
+}
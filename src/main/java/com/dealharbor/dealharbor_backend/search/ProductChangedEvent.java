@@ -0,0 +1,22 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.entities.Product;
+
+/**
+ * Published whenever a product is created, edited, moderated, sold or removed.
+ * {@code previous} is null for new products, {@code current} is null once the row is gone.
+ */
+public record ProductChangedEvent(String productId, ProductDocument previous, ProductDocument current) {
+
+    public static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(product.getId(), null, ProductDocument.from(product));
+    }
+
+    public static ProductChangedEvent updated(ProductDocument previous, Product product) {
+        return new ProductChangedEvent(product.getId(), previous, ProductDocument.from(product));
+    }
+
+    public static ProductChangedEvent removed(ProductDocument previous) {
+        return new ProductChangedEvent(previous.id(), previous, null);
+    }
+}
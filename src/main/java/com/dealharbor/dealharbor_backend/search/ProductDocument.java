@@ -0,0 +1,75 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the product fields the in-memory search structures need.
+ * Built while the persistence context is still open so indexes never touch lazy relations.
+ */
+public record ProductDocument(
+        String id,
+        String title,
+        String description,
+        String brand,
+        String model,
+        List<String> tags,
+        String categoryId,
+        ProductCondition condition,
+        BigDecimal price,
+        BigDecimal originalPrice,
+        String sellerId,
+        boolean sellerVerifiedStudent,
+        boolean featured,
+        boolean deliveryAvailable,
+        boolean negotiable,
+        ProductStatus status,
+        int viewCount,
+        int favoriteCount,
+        Instant createdAt
+) {
+
+    public static ProductDocument from(Product product) {
+        List<String> tags = product.getTags() != null && !product.getTags().isBlank()
+                ? Arrays.stream(product.getTags().split(","))
+                    .map(String::trim)
+                    .filter(tag -> !tag.isEmpty())
+                    .toList()
+                : List.of();
+
+        return new ProductDocument(
+                product.getId(),
+                product.getTitle(),
+                product.getDescription(),
+                product.getBrand(),
+                product.getModel(),
+                tags,
+                product.getCategory().getId(),
+                product.getCondition(),
+                product.getPrice(),
+                product.getOriginalPrice(),
+                product.getSeller().getId(),
+                product.getSeller().isVerifiedStudent(),
+                Boolean.TRUE.equals(product.getIsFeatured()),
+                Boolean.TRUE.equals(product.getDeliveryAvailable()),
+                Boolean.TRUE.equals(product.getIsNegotiable()),
+                product.getStatus(),
+                product.getViewCount() != null ? product.getViewCount() : 0,
+                product.getFavoriteCount() != null ? product.getFavoriteCount() : 0,
+                product.getCreatedAt()
+        );
+    }
+
+    /**
+     * Only approved listings are visible to public search.
+     */
+    public boolean isSearchable() {
+        return status == ProductStatus.APPROVED;
+    }
+}
@@ -0,0 +1,303 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.BitSetUtil;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search engine over APPROVED products.
+ * Every live document gets a dense int ordinal; secondary indexes are keyed by ordinal.
+ * Updates retire the old ordinal and append a new one, and the ordinal space is compacted
+ * once retired slots outnumber live ones.
+ */
+@Component
+@Slf4j
+public class ProductSearchEngine {
+
+    private static final int COMPACTION_MIN_ORDINALS = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinalsById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final InvertedIndex invertedIndex = new InvertedIndex();
+    private final AttributeIndex attributeIndex = new AttributeIndex();
+    private final SuggestionIndex suggestionIndex = new SuggestionIndex();
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+    private final List<OrdinalIndex> indexes = List.of(invertedIndex, attributeIndex, suggestionIndex, trigramIndex);
+
+    private ProductDocument[] documents = new ProductDocument[1024];
+    private int nextOrdinal;
+    private volatile boolean ready;
+
+    /**
+     * Replaces the whole index with the given documents (bootstrap and periodic reconciliation).
+     */
+    public void rebuild(Collection<ProductDocument> source) {
+        lock.writeLock().lock();
+        try {
+            resetLocked();
+            for (ProductDocument document : source) {
+                if (document.isSearchable()) {
+                    addLocked(document);
+                }
+            }
+            attributeIndex.optimize();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the latest state of a product; non-searchable products are dropped from the index.
+     */
+    public void upsert(ProductDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.id());
+            if (document.isSearchable()) {
+                addLocked(document);
+            }
+            compactIfNeededLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String productId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productId);
+            compactIfNeededLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a BM25-ranked keyword query. Returned hits are unordered.
+     */
+    public List<ScoredDocument> search(String query) {
+        return search(query, SearchFilter.NONE);
+    }
+
+    /**
+     * Keyword query restricted to the documents passing {@code filter}; the filter is resolved
+     * against the attribute bitmaps, so rejected documents are never materialized. Hits are unordered.
+     */
+    public List<ScoredDocument> search(String query, SearchFilter filter) {
+        return search(query, filter, false);
+    }
+
+    /**
+     * As {@link #search(String, SearchFilter)}; with {@code fuzzy} each query term also matches
+     * title and brand terms within a small edit distance, scored below exact matches.
+     */
+    public List<ScoredDocument> search(String query, SearchFilter filter, boolean fuzzy) {
+        List<String> analyzed = TextAnalyzer.analyze(query);
+        if (analyzed.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Float> terms = expandLocked(analyzed, fuzzy);
+            float[] scores = new float[nextOrdinal];
+            BitSet matched = new BitSet(nextOrdinal);
+            invertedIndex.score(terms, live, scores, matched);
+            RoaringBitmap accepted = attributeIndex.filter(BitSetUtil.bitmapOf(matched), filter);
+
+            List<ScoredDocument> hits = new ArrayList<>(accepted.getCardinality());
+            accepted.forEach((int ordinal) -> hits.add(new ScoredDocument(documents[ordinal], scores[ordinal])));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every indexed document passing {@code filter}, in no particular order.
+     */
+    public List<ProductDocument> filter(SearchFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap accepted = attributeIndex.filter(null, filter);
+            List<ProductDocument> result = new ArrayList<>(accepted.getCardinality());
+            accepted.forEach((int ordinal) -> result.add(documents[ordinal]));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Top completions for a typeahead prefix, weighted by the popularity of the contributing products.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            return suggestionIndex.suggest(prefix, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facet counts over the keyword matches (or every live product when the keyword is blank).
+     */
+    public FacetCounts facets(String keyword, SearchFilter filter, boolean fuzzy) {
+        boolean keywordQuery = keyword != null && !keyword.isBlank();
+        List<String> analyzed = keywordQuery ? TextAnalyzer.analyze(keyword) : List.of();
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = null;
+            if (keywordQuery) {
+                BitSet matched = new BitSet(nextOrdinal);
+                invertedIndex.match(expandLocked(analyzed, fuzzy).keySet(), live, matched);
+                base = BitSetUtil.bitmapOf(matched);
+            }
+            return attributeIndex.facets(base, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int categoryCount(String categoryId) {
+        lock.readLock().lock();
+        try {
+            return attributeIndex.categoryCount(categoryId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public ProductDocument getDocument(String productId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinalsById.get(productId);
+            return ordinal != null ? documents[ordinal] : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * False until the first rebuild completes; callers fall back to the database meanwhile.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return invertedIndex.termCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int attributeBitmapCount() {
+        lock.readLock().lock();
+        try {
+            return attributeIndex.bitmapCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long attributeIndexSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return attributeIndex.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Query term -> boost. Fuzzy expansions score 1 / (1 + edit distance) of an exact match
+    private Map<String, Float> expandLocked(List<String> analyzed, boolean fuzzy) {
+        Map<String, Float> terms = new LinkedHashMap<>();
+        for (String term : analyzed) {
+            terms.put(term, 1f);
+            if (fuzzy) {
+                trigramIndex.similarTerms(term).forEach((candidate, distance) ->
+                        terms.merge(candidate, 1f / (1 + distance), Math::max));
+            }
+        }
+        return terms;
+    }
+
+    private void addLocked(ProductDocument document) {
+        int ordinal = nextOrdinal++;
+        if (ordinal >= documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        documents[ordinal] = document;
+        ordinalsById.put(document.id(), ordinal);
+        live.set(ordinal);
+        for (OrdinalIndex index : indexes) {
+            index.add(ordinal, document);
+        }
+    }
+
+    private void removeLocked(String productId) {
+        Integer ordinal = ordinalsById.remove(productId);
+        if (ordinal == null) {
+            return;
+        }
+        ProductDocument document = documents[ordinal];
+        live.clear(ordinal);
+        documents[ordinal] = null;
+        for (OrdinalIndex index : indexes) {
+            index.remove(ordinal, document);
+        }
+    }
+
+    private void compactIfNeededLocked() {
+        int liveCount = ordinalsById.size();
+        if (nextOrdinal < COMPACTION_MIN_ORDINALS || nextOrdinal - liveCount <= liveCount) {
+            return;
+        }
+
+        List<ProductDocument> survivors = new ArrayList<>(liveCount);
+        for (int ordinal = live.nextSetBit(0); ordinal >= 0; ordinal = live.nextSetBit(ordinal + 1)) {
+            survivors.add(documents[ordinal]);
+        }
+        log.debug("Compacting search index: {} ordinals, {} live", nextOrdinal, liveCount);
+        resetLocked();
+        survivors.forEach(this::addLocked);
+        attributeIndex.optimize();
+    }
+
+    private void resetLocked() {
+        ordinalsById.clear();
+        live.clear();
+        documents = new ProductDocument[1024];
+        nextOrdinal = 0;
+        for (OrdinalIndex index : indexes) {
+            index.clear();
+        }
+    }
+}
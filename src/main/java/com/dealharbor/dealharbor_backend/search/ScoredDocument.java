@@ -0,0 +1,4 @@
+package com.dealharbor.dealharbor_backend.search;
+
+public record ScoredDocument(ProductDocument document, float score) {
+}
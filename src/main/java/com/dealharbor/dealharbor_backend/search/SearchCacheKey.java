@@ -0,0 +1,95 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.dto.ProductSearchRequest;
+import com.dealharbor.dealharbor_backend.entities.Tag;
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Canonical form of a search request: keyword trimmed, lowercased and whitespace-collapsed,
+ * conditions and tags sorted, prices scale-normalized, sort and paging resolved to their effective values.
+ * Requests that produce the same result page map to equal keys.
+ */
+public record SearchCacheKey(
+        String keyword,
+        boolean fuzzy,
+        String categoryId,
+        List<ProductCondition> conditions,
+        List<String> tags,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        Boolean deliveryAvailable,
+        Boolean negotiable,
+        boolean verifiedStudentsOnly,
+        String sortBy,
+        int page,
+        int size
+) {
+
+    public static SearchCacheKey of(ProductSearchRequest request, String sortBy, int page, int size) {
+        String keyword = request.getKeyword() != null
+                ? request.getKeyword().trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ")
+                : "";
+        return new SearchCacheKey(
+                keyword.isEmpty() ? null : keyword,
+                Boolean.TRUE.equals(request.getFuzzy()),
+                request.getCategoryId(),
+                request.getConditions() != null
+                        ? request.getConditions().stream().filter(Objects::nonNull).distinct().sorted().toList()
+                        : List.of(),
+                request.getTags() != null
+                        ? request.getTags().stream().map(Tag::normalizeName).filter(Objects::nonNull).distinct().sorted().toList()
+                        : List.of(),
+                normalizePrice(request.getMinPrice()),
+                normalizePrice(request.getMaxPrice()),
+                request.getDeliveryAvailable(),
+                request.getIsNegotiable(),
+                Boolean.TRUE.equals(request.getVerifiedStudentsOnly()),
+                sortBy,
+                page,
+                size);
+    }
+
+    /**
+     * Whether the product could appear in this query's results. Errs on the side of true
+     * (fuzzy keywords always match) so a stale page is never kept.
+     *
+     * @param documentTerms analyzed terms of the product, as produced by {@link #termsOf}
+     */
+    boolean couldMatch(ProductDocument document, Set<String> documentTerms) {
+        if (document == null || !document.isSearchable()) return false;
+        if (categoryId != null && !categoryId.equals(document.categoryId())) return false;
+        if (!conditions.isEmpty() && !conditions.contains(document.condition())) return false;
+        if (minPrice != null && document.price().compareTo(minPrice) < 0) return false;
+        if (maxPrice != null && document.price().compareTo(maxPrice) > 0) return false;
+        if (deliveryAvailable != null && deliveryAvailable != document.deliveryAvailable()) return false;
+        if (negotiable != null && negotiable != document.negotiable()) return false;
+        if (verifiedStudentsOnly && !document.sellerVerifiedStudent()) return false;
+        if (!tags.isEmpty() && document.tags().stream().map(Tag::normalizeName).noneMatch(tags::contains)) return false;
+        if (keyword == null || fuzzy) return true;
+        return TextAnalyzer.analyze(keyword).stream().anyMatch(documentTerms::contains);
+    }
+
+    static Set<String> termsOf(ProductDocument document) {
+        Set<String> terms = new HashSet<>();
+        if (document == null) {
+            return terms;
+        }
+        terms.addAll(TextAnalyzer.analyze(document.title()));
+        terms.addAll(TextAnalyzer.analyze(document.brand()));
+        terms.addAll(TextAnalyzer.analyze(document.model()));
+        terms.addAll(TextAnalyzer.analyze(document.description()));
+        document.tags().forEach(tag -> terms.addAll(TextAnalyzer.analyze(tag)));
+        return terms;
+    }
+
+    private static BigDecimal normalizePrice(BigDecimal price) {
+        return price != null ? price.stripTrailingZeros() : null;
+    }
+}
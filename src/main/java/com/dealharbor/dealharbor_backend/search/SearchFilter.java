@@ -0,0 +1,34 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Structured filters resolved against the attribute index. Null or empty means "not filtered".
+ * Conditions are OR-ed together, as are tags (normalized names); every other filter is AND-ed.
+ */
+public record SearchFilter(
+        String categoryId,
+        Set<ProductCondition> conditions,
+        Set<String> tags,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        Boolean featured,
+        Boolean deliveryAvailable,
+        Boolean negotiable,
+        boolean verifiedStudentsOnly
+) {
+
+    public static final SearchFilter NONE = new SearchFilter(null, Set.of(), Set.of(), null, null, null, null, null, false);
+
+    public SearchFilter {
+        conditions = conditions != null ? Set.copyOf(conditions) : Set.of();
+        tags = tags != null ? Set.copyOf(tags) : Set.of();
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size and memory gauges for the in-memory search engine ({@code search.index.*})
+ * and hit/miss counts for the search result cache ({@code search.cache.*}).
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexMetrics implements MeterBinder {
+
+    private final ProductSearchEngine searchEngine;
+    private final SearchResultCache searchResultCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("search.index.documents", searchEngine, ProductSearchEngine::size)
+                .description("Products currently held in the search index")
+                .register(registry);
+        Gauge.builder("search.index.terms", searchEngine, ProductSearchEngine::termCount)
+                .description("Distinct terms in the inverted index")
+                .register(registry);
+        Gauge.builder("search.index.attribute.bitmaps", searchEngine, ProductSearchEngine::attributeBitmapCount)
+                .description("Compressed bitmaps in the attribute index")
+                .register(registry);
+        Gauge.builder("search.index.attribute.memory", searchEngine, ProductSearchEngine::attributeIndexSizeInBytes)
+                .description("Approximate heap used by the attribute index")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("search.cache.entries", searchResultCache, SearchResultCache::size)
+                .description("Cached search result pages")
+                .register(registry);
+        FunctionCounter.builder("search.cache.requests", searchResultCache, SearchResultCache::hitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("search.cache.requests", searchResultCache, SearchResultCache::missCount)
+                .tag("result", "miss")
+                .register(registry);
+    }
+}
@@ -0,0 +1,100 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.dto.PagedResponse;
+import com.dealharbor.dealharbor_backend.dto.ProductResponse;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded LRU cache of search result pages with TinyLFU admission: when full, a new key only
+ * displaces the least recently used entry if it has been requested more often recently.
+ * Product changes evict just the entries whose filters match the product before or after the change;
+ * the TTL bounds staleness of counters (views, favorites) that do not publish events.
+ */
+@Component
+public class SearchResultCache {
+
+    private static final int MAX_ENTRIES = 2_000;
+    private static final long TTL_MILLIS = Duration.ofMinutes(5).toMillis();
+
+    private record Entry(PagedResponse<ProductResponse> value, long expiresAt) {
+    }
+
+    private final Map<SearchCacheKey, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final FrequencySketch sketch = new FrequencySketch(MAX_ENTRIES);
+    private long generation;
+    private long hits;
+    private long misses;
+
+    /**
+     * Read before computing a result and pass to {@link #put}; a put is dropped if any
+     * invalidation happened in between, so a page computed from pre-change data is never cached.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized PagedResponse<ProductResponse> get(SearchCacheKey key) {
+        sketch.increment(key.hashCode());
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAt() < System.currentTimeMillis()) {
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    public synchronized void put(SearchCacheKey key, PagedResponse<ProductResponse> value, long generationSeen) {
+        if (generationSeen != generation) {
+            return;
+        }
+        if (!entries.containsKey(key) && entries.size() >= MAX_ENTRIES) {
+            Iterator<SearchCacheKey> eldest = entries.keySet().iterator();
+            SearchCacheKey victim = eldest.next();
+            if (sketch.frequency(key.hashCode()) <= sketch.frequency(victim.hashCode())) {
+                return;
+            }
+            eldest.remove();
+        }
+        entries.put(key, new Entry(value, System.currentTimeMillis() + TTL_MILLIS));
+    }
+
+    /**
+     * Evicts entries the changed product could appear in, judged by its previous and current state.
+     */
+    public void invalidate(ProductChangedEvent event) {
+        Set<String> previousTerms = SearchCacheKey.termsOf(event.previous());
+        Set<String> currentTerms = SearchCacheKey.termsOf(event.current());
+        synchronized (this) {
+            generation++;
+            entries.keySet().removeIf(key -> key.couldMatch(event.previous(), previousTerms)
+                    || key.couldMatch(event.current(), currentTerms));
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+}
@@ -0,0 +1,203 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Prefix trie of completions taken from product titles, title words, brands, models and tags.
+ * A completion's weight is the summed popularity of the products that contribute it, and every
+ * node caches the best weight below it, so a top-K lookup is a best-first walk that touches
+ * roughly K paths instead of the whole subtree.
+ */
+final class SuggestionIndex implements OrdinalIndex {
+
+    private static final int MAX_PHRASE_LENGTH = 80;
+    private static final int MIN_WORD_LENGTH = 3;
+
+    private static final class Node {
+        final Node parent;
+        final char key;
+        final Map<Character, Node> children = new HashMap<>(4);
+        String phrase;
+        long weight;
+        int contributors;
+        long best;
+
+        Node(Node parent, char key) {
+            this.parent = parent;
+            this.key = key;
+        }
+    }
+
+    private record Candidate(Node node, boolean terminal, long priority) {
+    }
+
+    private Node root = new Node(null, '\0');
+
+    @Override
+    public void add(int ordinal, ProductDocument document) {
+        long weight = weightOf(document);
+        for (String phrase : phrasesOf(document)) {
+            Node node = root;
+            for (int i = 0; i < phrase.length(); i++) {
+                Node parent = node;
+                char c = phrase.charAt(i);
+                node = parent.children.computeIfAbsent(c, key -> new Node(parent, key));
+            }
+            node.phrase = phrase;
+            node.weight += weight;
+            node.contributors++;
+            propagate(node);
+        }
+    }
+
+    @Override
+    public void remove(int ordinal, ProductDocument document) {
+        long weight = weightOf(document);
+        for (String phrase : phrasesOf(document)) {
+            Node node = find(phrase);
+            if (node == null || node.contributors == 0) {
+                continue;
+            }
+            node.contributors--;
+            node.weight = node.contributors > 0 ? node.weight - weight : 0;
+            if (node.contributors == 0) {
+                node.phrase = null;
+            }
+            // Drop branches that no longer lead to a completion
+            while (node.parent != null && node.phrase == null && node.children.isEmpty()) {
+                node.parent.children.remove(node.key);
+                node = node.parent;
+            }
+            propagate(node);
+        }
+    }
+
+    @Override
+    public void clear() {
+        root = new Node(null, '\0');
+    }
+
+    /**
+     * Highest weighted completions starting with {@code prefix}, best first.
+     */
+    List<String> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        List<String> result = new ArrayList<>(limit);
+        if (normalized.isEmpty() || limit <= 0) {
+            return result;
+        }
+        Node start = find(normalized);
+        if (start == null) {
+            return result;
+        }
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(
+                Comparator.comparingLong(Candidate::priority).reversed());
+        queue.add(new Candidate(start, false, start.best));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate candidate = queue.poll();
+            Node node = candidate.node();
+            if (candidate.terminal()) {
+                result.add(node.phrase);
+                continue;
+            }
+            if (node.phrase != null) {
+                queue.add(new Candidate(node, true, node.weight));
+            }
+            for (Node child : node.children.values()) {
+                queue.add(new Candidate(child, false, child.best));
+            }
+        }
+        return result;
+    }
+
+    private Node find(String phrase) {
+        Node node = root;
+        for (int i = 0; i < phrase.length() && node != null; i++) {
+            node = node.children.get(phrase.charAt(i));
+        }
+        return node;
+    }
+
+    // Recomputes cached subtree maxima from the changed node up to the root
+    private static void propagate(Node node) {
+        for (Node current = node; current != null; current = current.parent) {
+            long best = current.phrase != null ? current.weight : 0;
+            for (Node child : current.children.values()) {
+                best = Math.max(best, child.best);
+            }
+            if (best == current.best && current != node) {
+                return;
+            }
+            current.best = best;
+        }
+    }
+
+    private static long weightOf(ProductDocument document) {
+        return 1L + document.viewCount() + 5L * document.favoriteCount();
+    }
+
+    private static Set<String> phrasesOf(ProductDocument document) {
+        Set<String> phrases = new LinkedHashSet<>();
+        String title = normalize(document.title());
+        addPhrase(phrases, title);
+        for (String word : title.split(" ")) {
+            if (word.length() >= MIN_WORD_LENGTH && !word.chars().allMatch(Character::isDigit)) {
+                phrases.add(word);
+            }
+        }
+        String brand = normalize(document.brand());
+        String model = normalize(document.model());
+        addPhrase(phrases, brand);
+        addPhrase(phrases, model);
+        if (!brand.isEmpty() && !model.isEmpty()) {
+            addPhrase(phrases, brand + " " + model);
+        }
+        for (String tag : document.tags()) {
+            addPhrase(phrases, normalize(tag));
+        }
+        return phrases;
+    }
+
+    private static void addPhrase(Set<String> phrases, String phrase) {
+        if (phrase.isEmpty()) {
+            return;
+        }
+        if (phrase.length() > MAX_PHRASE_LENGTH) {
+            int cut = phrase.lastIndexOf(' ', MAX_PHRASE_LENGTH);
+            phrase = phrase.substring(0, cut > 0 ? cut : MAX_PHRASE_LENGTH);
+        }
+        phrases.add(phrase);
+    }
+
+    /**
+     * Lowercases and collapses every run of non-alphanumeric characters into a single space.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns free text into index terms: lowercase, split on anything that is not a letter or digit,
+ * drop stop words and reduce each word with {@link LightStemmer}.
+ * The same analyzer is used at index and query time so both sides agree on terms.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from",
+            "has", "have", "i", "in", "is", "it", "its", "my", "of", "on", "or",
+            "so", "that", "the", "this", "to", "was", "with", "very"
+    );
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = lower.substring(start, i);
+                if (!STOP_WORDS.contains(word)) {
+                    terms.add(LightStemmer.stem(word));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,187 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram index over the title and brand vocabulary, used to expand misspelled query terms.
+ * Candidates are the vocabulary terms of a compatible length sharing enough trigrams with the query
+ * term to possibly be within the edit budget (an edit destroys at most three trigrams, a transposition
+ * four); only those are verified with a bounded edit distance. Short terms, where that count bound is
+ * vacuous and a typo can leave no trigram in common ("abc" / "bac"), are instead verified against the
+ * vocabulary terms of neighbouring lengths. Lookups never touch documents.
+ */
+final class TrigramIndex implements OrdinalIndex {
+
+    private static final int MIN_FUZZY_LENGTH = 3;
+    // Trigrams one OSA edit can destroy: three for a substitution or deletion, four for a transposition
+    private static final int TRIGRAMS_PER_EDIT = 4;
+    // Up to this length the query is checked against the length buckets instead of shared trigrams
+    private static final int MAX_SCANNED_LENGTH = 4;
+
+    private final Map<String, Integer> vocabulary = new HashMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final Map<Integer, Set<String>> termsByLength = new HashMap<>();
+
+    @Override
+    public void add(int ordinal, ProductDocument document) {
+        for (String term : termsOf(document)) {
+            if (vocabulary.merge(term, 1, Integer::sum) == 1) {
+                for (String trigram : trigrams(term)) {
+                    termsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(term);
+                }
+                termsByLength.computeIfAbsent(term.length(), length -> new HashSet<>()).add(term);
+            }
+        }
+    }
+
+    @Override
+    public void remove(int ordinal, ProductDocument document) {
+        for (String term : termsOf(document)) {
+            Integer remaining = vocabulary.computeIfPresent(term, (key, count) -> count > 1 ? count - 1 : null);
+            if (remaining != null) {
+                continue;
+            }
+            for (String trigram : trigrams(term)) {
+                removeFrom(termsByTrigram, trigram, term);
+            }
+            removeFrom(termsByLength, term.length(), term);
+        }
+    }
+
+    @Override
+    public void clear() {
+        vocabulary.clear();
+        termsByTrigram.clear();
+        termsByLength.clear();
+    }
+
+    /**
+     * Vocabulary terms within the edit budget for {@code term}, mapped to their edit distance.
+     * The term itself is included with distance 0 when it is in the vocabulary.
+     */
+    Map<String, Integer> similarTerms(String term) {
+        Map<String, Integer> result = new HashMap<>();
+        if (vocabulary.containsKey(term)) {
+            result.put(term, 0);
+        }
+        if (term.length() < MIN_FUZZY_LENGTH) {
+            return result;
+        }
+
+        int maxEdits = maxEdits(term);
+        if (term.length() <= MAX_SCANNED_LENGTH) {
+            for (int length = term.length() - maxEdits; length <= term.length() + maxEdits; length++) {
+                for (String candidate : termsByLength.getOrDefault(length, Set.of())) {
+                    verify(term, candidate, maxEdits, result);
+                }
+            }
+            return result;
+        }
+
+        Set<String> queryTrigrams = trigrams(term);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms != null) {
+                for (String candidate : terms) {
+                    if (Math.abs(candidate.length() - term.length()) <= maxEdits) {
+                        shared.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        // Clamped to one shared trigram: past the scanned lengths the exact bound is often vacuous,
+        // and two edits that leave nothing in common are not worth a vocabulary scan
+        int required = Math.max(1, queryTrigrams.size() - TRIGRAMS_PER_EDIT * maxEdits);
+        shared.forEach((candidate, common) -> {
+            if (common >= required) {
+                verify(term, candidate, maxEdits, result);
+            }
+        });
+        return result;
+    }
+
+    int vocabularySize() {
+        return vocabulary.size();
+    }
+
+    private static void verify(String term, String candidate, int maxEdits, Map<String, Integer> result) {
+        if (candidate.equals(term)) {
+            return;
+        }
+        int distance = boundedDistance(term, candidate, maxEdits);
+        if (distance <= maxEdits) {
+            result.put(candidate, distance);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Set<String>> buckets, K key, String term) {
+        Set<String> terms = buckets.get(key);
+        if (terms != null) {
+            terms.remove(term);
+            if (terms.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static int maxEdits(String term) {
+        return term.length() <= 4 ? 1 : 2;
+    }
+
+    private static Set<String> termsOf(ProductDocument document) {
+        Set<String> terms = new HashSet<>(TextAnalyzer.analyze(document.title()));
+        terms.addAll(TextAnalyzer.analyze(document.brand()));
+        return terms;
+    }
+
+    // Padded so short words and word boundaries still produce trigrams: "$ab" ... "yz$"
+    private static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions), giving up
+     * with {@code max + 1} as soon as every cell in a row exceeds {@code max}.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousPrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+}
@@ -4,19 +4,21 @@ import com.dealharbor.dealharbor_backend.dto.*;
 import com.dealharbor.dealharbor_backend.entities.*;
 import com.dealharbor.dealharbor_backend.enums.*;
 import com.dealharbor.dealharbor_backend.repositories.*;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import com.dealharbor.dealharbor_backend.search.ProductDocument;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.ZoneOffset;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,57 +28,84 @@ public class AdminService {
     
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
-    private final OrderRepository orderRepository;
-    private final ProductReviewRepository productReviewRepository;
-    private final UserReviewRepository userReviewRepository;
     private final AdminActionRepository adminActionRepository;
     private final NotificationService notificationService;
     private final EmailService emailService;
     private final ProductService productService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductMapper productMapper;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final CategoryService categoryService;
+    private final OptimisticRetry optimisticRetry;
 
     // ✅ ADMIN DASHBOARD
     public AdminDashboardResponse getDashboardStats() {
-        Instant todayStart = LocalDate.now().atStartOfDay().toInstant(ZoneOffset.UTC);
-        
-        return new AdminDashboardResponse(
-                // User Statistics
-                userRepository.count(),
-                userRepository.countByDeletedFalseAndEnabledTrue(),
-                userRepository.countByIsBannedTrue(),
-                userRepository.countByIsVerifiedStudentTrue(),
-                
-                // Product Statistics
-                productRepository.count(),
-                productRepository.countByStatus(ProductStatus.PENDING),
-                productRepository.countByStatus(ProductStatus.APPROVED),
-                productRepository.countByStatus(ProductStatus.SOLD),
-                productRepository.countByStatusAndIsFeaturedTrue(ProductStatus.APPROVED),
-                
-                // Order Statistics
-                orderRepository.count(),
-                orderRepository.countByStatus(OrderStatus.PENDING),
-                orderRepository.countByStatus(OrderStatus.COMPLETED),
-                orderRepository.countByStatus(OrderStatus.CANCELLED),
-                
-                // Review Statistics
-                productReviewRepository.count() + userReviewRepository.count(),
-                productReviewRepository.countByIsApprovedFalse() + userReviewRepository.countByIsApprovedFalse(),
-                
-                // Today's Activity
-                userRepository.countByCreatedAtAfter(todayStart),
-                productRepository.countByCreatedAtAfter(todayStart),
-                orderRepository.countByCreatedAtAfter(todayStart)
-        );
+        return dashboardSnapshotService.getDashboard();
+    }
+
+    public AdminDashboardResponse refreshDashboardStats() {
+        return dashboardSnapshotService.refresh();
+    }
+
+    // ✅ CATEGORY TREE RELOAD (after categories are edited directly in the database)
+    public List<CategoryResponse> reloadCategories() {
+        categoryService.reloadTree();
+        return categoryService.getMainCategories();
+    }
+
+    // ✅ WRITE CONTENTION (rows that keep losing optimistic lock races)
+    public List<RowContentionResponse> getHotRows(int limit) {
+        return optimisticRetry.hotRows(limit);
     }
 
     // ✅ ADMIN PRODUCT MANAGEMENT
-    @Transactional
+    // Outcome of a moderation write, captured inside the transaction so notifications can go out after it commits
+    private record ProductModeration(ProductResponse response, boolean statusChanged,
+                                     String sellerId, String sellerEmail, String sellerName, String title) {
+    }
+
     public ProductResponse adminUpdateProduct(String productId, AdminProductActionRequest request, Authentication authentication) {
+        // Re-reads the product on every attempt, so a replay after a concurrent edit applies the request to fresh state
+        ProductModeration moderation = optimisticRetry.execute("product.moderate",
+                () -> moderateProduct(productId, request, authentication));
+
+        // Notify seller only when status changes to a meaningful state
+        if (moderation.statusChanged()) {
+            String notificationTitle = getProductNotificationTitle(request.getStatus());
+            String notificationMessage = getProductNotificationMessage(moderation.title(), request.getStatus(), request.getReason());
+
+            notificationService.createNotification(
+                    moderation.sellerId(),
+                    notificationTitle,
+                    notificationMessage,
+                    getProductNotificationType(request.getStatus()),
+                    "/products/" + productId,
+                    productId,
+                    "PRODUCT"
+            );
+
+            // Send email for important status changes
+            if (request.getStatus() == ProductStatus.APPROVED || request.getStatus() == ProductStatus.REJECTED) {
+                emailService.sendProductStatusUpdate(
+                        moderation.sellerEmail(),
+                        moderation.sellerName(),
+                        moderation.title(),
+                        request.getStatus().getDisplayName(),
+                        request.getReason()
+                );
+            }
+        }
+        
+        return moderation.response();
+    }
+
+    private ProductModeration moderateProduct(String productId, AdminProductActionRequest request, Authentication authentication) {
         User admin = getAdminFromAuthentication(authentication);
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         
         ProductStatus oldStatus = product.getStatus();
+        ProductDocument previous = ProductDocument.from(product);
 
         boolean statusChanged = request.getStatus() != null && request.getStatus() != oldStatus;
         boolean featuredChanged = request.getIsFeatured() != null && (product.getIsFeatured() != request.getIsFeatured());
@@ -101,6 +130,7 @@ public class AdminService {
 
         product.setUpdatedAt(Instant.now());
         product = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previous, product));
 
         // Record admin action(s)
         if (statusChanged) {
@@ -113,48 +143,22 @@ public class AdminService {
             recordAdminAction(admin, "PRODUCT_NOTE_UPDATED", "PRODUCT", productId, request.getAdminNotes());
         }
 
-        // Notify seller only when status changes to a meaningful state
-        if (statusChanged) {
-            String notificationTitle = getProductNotificationTitle(request.getStatus());
-            String notificationMessage = getProductNotificationMessage(product.getTitle(), request.getStatus(), request.getReason());
-
-            notificationService.createNotification(
-                    product.getSeller().getId(),
-                    notificationTitle,
-                    notificationMessage,
-                    getProductNotificationType(request.getStatus()),
-                    "/products/" + productId,
-                    productId,
-                    "PRODUCT"
-            );
-
-            // Send email for important status changes
-            if (request.getStatus() == ProductStatus.APPROVED || request.getStatus() == ProductStatus.REJECTED) {
-                emailService.sendProductStatusUpdate(
-                        product.getSeller().getEmail(),
-                        product.getSeller().getName(),
-                        product.getTitle(),
-                        request.getStatus().getDisplayName(),
-                        request.getReason()
-                );
-            }
-        }
-        
-        return convertToProductResponse(product);
+        User seller = product.getSeller();
+        return new ProductModeration(productMapper.toResponse(product), statusChanged,
+                seller.getId(), seller.getEmail(), seller.getName(), product.getTitle());
     }
 
     public PagedResponse<ProductResponse> getAllProductsForAdmin(ProductStatus status, int page, int size, String sortBy) {
         Sort sort = createSort(sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<Product> productPage;
-        if (status != null) {
-            productPage = productRepository.findByStatusOrderByCreatedAtDesc(status, pageable);
-        } else {
-            productPage = productRepository.findAll(pageable);
-        }
+        // The Specification overload carries the seller/category fetch graph; the mapper batch-loads images
+        Specification<Product> filter = status != null
+                ? ProductSpecifications.hasStatus(status)
+                : Specification.allOf();
+        Page<Product> productPage = productRepository.findAll(filter, pageable);
         
-        return convertToPagedProductResponse(productPage);
+        return productMapper.toPagedResponse(productPage);
     }
 
     // ✅ ADMIN USER MANAGEMENT
@@ -202,7 +206,11 @@ public class AdminService {
                 );
             }
             case "VERIFY_STUDENT" -> {
+                boolean wasVerified = targetUser.isVerifiedStudent();
                 targetUser.setVerifiedStudent(request.getIsVerifiedStudent());
+                if (wasVerified != targetUser.isVerifiedStudent()) {
+                    eventPublisher.publishEvent(new SellerVerificationChangedEvent(userId));
+                }
                 
                 if (request.getIsVerifiedStudent()) {
                     notificationService.createNotification(
@@ -222,8 +230,10 @@ public class AdminService {
                 // Also mark all their products as deleted
                 List<Product> userProducts = productRepository.findBySellerIdAndStatusNot(userId, ProductStatus.DELETED);
                 userProducts.forEach(product -> {
+                    ProductDocument previous = ProductDocument.from(product);
                     product.setStatus(ProductStatus.DELETED);
                     product.setAdminNotes("User marked as spam");
+                    eventPublisher.publishEvent(ProductChangedEvent.updated(previous, product));
                 });
                 productRepository.saveAll(userProducts);
             }
@@ -234,7 +244,11 @@ public class AdminService {
                 
                 // Mark all products as deleted
                 List<Product> userProducts = productRepository.findBySellerIdAndStatusNot(userId, ProductStatus.DELETED);
-                userProducts.forEach(product -> product.setStatus(ProductStatus.DELETED));
+                userProducts.forEach(product -> {
+                    ProductDocument previous = ProductDocument.from(product);
+                    product.setStatus(ProductStatus.DELETED);
+                    eventPublisher.publishEvent(ProductChangedEvent.updated(previous, product));
+                });
                 productRepository.saveAll(userProducts);
             }
         }
@@ -279,7 +293,7 @@ public class AdminService {
     public PagedResponse<ProductResponse> searchProductsForAdmin(String keyword, int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         Page<Product> productPage = productRepository.searchByKeywordForAdmin(keyword, pageable);
-        return convertToPagedProductResponse(productPage);
+        return productMapper.toPagedResponse(productPage);
     }
 
     public PagedResponse<UserProfileResponse> searchUsersForAdmin(String keyword, int page, int size) {
@@ -348,78 +362,6 @@ public class AdminService {
         };
     }
 
-    private PagedResponse<ProductResponse> convertToPagedProductResponse(Page<Product> productPage) {
-        List<ProductResponse> content = productPage.getContent().stream()
-                .map(this::convertToProductResponse)
-                .collect(Collectors.toList());
-        
-        return new PagedResponse<>(
-                content,
-                productPage.getNumber(),
-                productPage.getSize(),
-                productPage.getTotalElements(),
-                productPage.getTotalPages(),
-                productPage.isFirst(),
-                productPage.isLast(),
-                productPage.hasNext(),
-                productPage.hasPrevious()
-        );
-    }
-
-    private ProductResponse convertToProductResponse(Product product) {
-        List<ProductImageResponse> images = product.getImages() != null 
-                ? product.getImages().stream()
-                    .map(img -> new ProductImageResponse(
-                            img.getId(),
-                            img.getImageUrl(),
-                            img.getAltText(),
-                            img.getIsPrimary(),
-                            img.getSortOrder()
-                    ))
-                    .collect(Collectors.toList())
-                : List.of();
-        
-        String primaryImageUrl = images.stream()
-                .filter(ProductImageResponse::isPrimary)
-                .findFirst()
-                .map(ProductImageResponse::getImageUrl)
-                .orElse(images.isEmpty() ? null : images.get(0).getImageUrl());
-        
-        List<String> tags = product.getTags() != null 
-                ? List.of(product.getTags().split(","))
-                : List.of();
-        
-        return new ProductResponse(
-                product.getId(),
-                product.getTitle(),
-                product.getDescription(),
-                product.getPrice(),
-                product.getOriginalPrice(),
-                product.getIsNegotiable(),
-                product.getCondition(),
-                product.getBrand(),
-                product.getModel(),
-                product.getStatus(),
-                product.getPickupLocation(),
-                product.getDeliveryAvailable(),
-                product.getViewCount(),
-                product.getFavoriteCount(),
-                product.getIsFeatured(),
-                tags,
-                product.getCreatedAt(),
-                product.getUpdatedAt(),
-                product.getSeller().getId(),
-                product.getSeller().getName(),
-                product.getSeller().getSellerBadge().name(),
-                product.getSeller().getSellerRating(),
-                product.getSeller().isVerifiedStudent(),
-                product.getCategory().getId(),
-                product.getCategory().getName(),
-                images,
-                primaryImageUrl
-        );
-    }
-
     private UserProfileResponse convertToUserProfileResponse(User user) {
         return new UserProfileResponse(
                 user.getId(),
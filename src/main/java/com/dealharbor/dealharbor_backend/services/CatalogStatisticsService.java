@@ -0,0 +1,241 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.HomepageStatsResponse;
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import com.dealharbor.dealharbor_backend.repositories.*;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import com.dealharbor.dealharbor_backend.search.ProductDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Catalog counters behind the homepage stats bar.
+ * Product counters are LongAdders adjusted after commit from lifecycle events; user totals are
+ * refreshed by the reconciliation, which also reloads every counter from grouped queries to repair
+ * drift from missed or double-applied events. Category names come from the in-memory category tree.
+ * Only the rolling "today" / "this week" windows are still counted per request.
+ * <p>
+ * Accepted drift: the reconcile queries run outside the write lock, and an after-commit event
+ * carries no position relative to them. An event whose transaction commits while the queries run
+ * can be counted twice: once in the query result and once when its listener runs after the swap.
+ * It can also be lost, if its listener runs before the swap and its commit came after the query.
+ * Either way the error is at most the number of product changes committed during one reconcile.
+ * It lasts until the next reconcile 5 minutes later. Homepage stats tolerate that, so no event
+ * sequence is kept.
+ */
+@Service
+@RequiredArgsConstructor
+@Order(4)
+@Slf4j
+public class CatalogStatisticsService implements CommandLineRunner {
+
+    private record UserCounts(long active, long verifiedStudents) {
+    }
+
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final CategoryService categoryService;
+
+    // Events take the read lock (they only touch adders); reconciliation takes the write lock to swap values
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<ProductStatus, LongAdder> productsByStatus = adders(ProductStatus.class);
+    private final LongAdder featuredApproved = new LongAdder();
+    private final Map<String, LongAdder> approvedByCategory = new ConcurrentHashMap<>();
+    private final Map<String, Long> listingsBySeller = new ConcurrentHashMap<>();
+    private final LongAdder sellers = new LongAdder();
+    private final DoubleAdder approvedDiscountPercentSum = new DoubleAdder();
+    private final LongAdder approvedDiscounted = new LongAdder();
+
+    private volatile UserCounts userCounts = new UserCounts(0, 0);
+    private volatile boolean loaded;
+
+    @Override
+    public void run(String... args) {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            // Retried on first read and by the scheduled reconciliation
+            log.error("Failed to load catalog statistics: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT5M", initialDelayString = "PT5M")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        List<Object[]> productStatusRows = productRepository.countGroupedByStatus();
+        long featured = productRepository.countByStatusAndIsFeaturedTrue(ProductStatus.APPROVED);
+        List<Object[]> categoryRows = productRepository.countApprovedGroupedByCategory();
+        List<Object[]> sellerRows = productRepository.countGroupedBySeller();
+        Object[] discount = productRepository.sumApprovedDiscountPercent().get(0);
+        Object[] users = userRepository.countUserStatistics().get(0);
+
+        lock.writeLock().lock();
+        try {
+            long approvedBefore = productsByStatus.get(ProductStatus.APPROVED).sum();
+
+            productsByStatus.values().forEach(LongAdder::reset);
+            for (Object[] row : productStatusRows) {
+                productsByStatus.get((ProductStatus) row[0]).add(((Number) row[1]).longValue());
+            }
+            featuredApproved.reset();
+            featuredApproved.add(featured);
+
+            approvedByCategory.clear();
+            for (Object[] row : categoryRows) {
+                approvedByCategory.computeIfAbsent((String) row[0], id -> new LongAdder()).add(((Number) row[1]).longValue());
+            }
+            listingsBySeller.clear();
+            for (Object[] row : sellerRows) {
+                listingsBySeller.put((String) row[0], ((Number) row[1]).longValue());
+            }
+            sellers.reset();
+            sellers.add(listingsBySeller.size());
+
+            approvedDiscountPercentSum.reset();
+            approvedDiscountPercentSum.add(((Number) discount[0]).doubleValue());
+            approvedDiscounted.reset();
+            approvedDiscounted.add(((Number) discount[1]).longValue());
+
+            userCounts = new UserCounts(((Number) users[0]).longValue(), ((Number) users[1]).longValue());
+
+            if (loaded && approvedBefore != productsByStatus.get(ProductStatus.APPROVED).sum()) {
+                log.info("Catalog statistics drift corrected: approved products {} -> {}",
+                        approvedBefore, productsByStatus.get(ProductStatus.APPROVED).sum());
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Catalog statistics reconciled in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            apply(event.previous(), -1);
+            apply(event.current(), 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public HomepageStatsResponse getHomepageStats() {
+        ensureLoaded();
+        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        Instant weekAgo = today.minus(7, ChronoUnit.DAYS);
+
+        // Get most popular category
+        CategoryTree categoryTree = categoryService.tree();
+        String mostPopularCategory = "Electronics"; // Default
+        long mostPopularCategoryCount = 0;
+        for (Map.Entry<String, LongAdder> entry : approvedByCategory.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count > mostPopularCategoryCount) {
+                mostPopularCategoryCount = count;
+                String name = categoryTree.nameOf(entry.getKey());
+                mostPopularCategory = name != null ? name : mostPopularCategory;
+            }
+        }
+
+        long discounted = approvedDiscounted.sum();
+        int avgSavingsPercent = discounted > 0 ? (int) (approvedDiscountPercentSum.sum() / discounted) : 0;
+
+        return HomepageStatsResponse.builder()
+                .totalProducts(totalProducts())
+                .totalActiveProducts(productCount(ProductStatus.APPROVED))
+                .totalUsers(userCounts.active())
+                .totalVerifiedStudents(userCounts.verifiedStudents())
+                .totalSellers(sellers.sum())
+                .totalCategories(categoryTree.size())
+                .productsAddedToday(productRepository.countByCreatedAtAfter(today))
+                .productsAddedThisWeek(productRepository.countByCreatedAtAfter(weekAgo))
+                .mostPopularCategory(mostPopularCategory)
+                .mostPopularCategoryCount(mostPopularCategoryCount)
+                .avgSavingsPercent(avgSavingsPercent)
+                .successfulSales(productCount(ProductStatus.SOLD))
+                .build();
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    private long totalProducts() {
+        return productsByStatus.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private long productCount(ProductStatus status) {
+        return productsByStatus.get(status).sum();
+    }
+
+    private void apply(ProductDocument document, int delta) {
+        if (document == null) {
+            return;
+        }
+        productsByStatus.get(document.status()).add(delta);
+
+        // Distinct sellers with at least one listing; compute() keeps the 0 <-> 1 transitions atomic per seller
+        listingsBySeller.compute(document.sellerId(), (sellerId, listings) -> {
+            long updated = (listings != null ? listings : 0) + delta;
+            if (listings == null) {
+                sellers.increment();
+            }
+            if (updated <= 0) {
+                sellers.decrement();
+                return null;
+            }
+            return updated;
+        });
+
+        if (document.status() != ProductStatus.APPROVED) {
+            return;
+        }
+        approvedByCategory.computeIfAbsent(document.categoryId(), id -> new LongAdder()).add(delta);
+        if (document.featured()) {
+            featuredApproved.add(delta);
+        }
+        // Same rounding as the persisted discount_percent column the reconciliation sums
+        BigDecimal percent = Product.discountPercentOf(document.price(), document.originalPrice());
+        if (percent != null) {
+            approvedDiscountPercentSum.add(delta * percent.doubleValue());
+            approvedDiscounted.add(delta);
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, LongAdder> adders(Class<E> type) {
+        Map<E, LongAdder> adders = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            adders.put(value, new LongAdder());
+        }
+        return adders;
+    }
+}
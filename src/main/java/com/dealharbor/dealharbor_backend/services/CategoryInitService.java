@@ -18,6 +18,7 @@ import java.time.Instant;
 public class CategoryInitService implements CommandLineRunner {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
 
     @Override
     public void run(String... args) throws Exception {
@@ -29,6 +30,7 @@ public class CategoryInitService implements CommandLineRunner {
             } else {
                 log.info("Categories already exist, skipping initialization");
             }
+            categoryService.reloadTree();
         } catch (Exception e) {
             log.error("Failed to initialize categories: {}", e.getMessage(), e);
             throw e; // Re-throw since we fixed the root cause
@@ -0,0 +1,113 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.CategoryProductPreview;
+import com.dealharbor.dealharbor_backend.dto.ProductSummaryResponse;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import com.dealharbor.dealharbor_backend.repositories.CategoryPreviewView;
+import com.dealharbor.dealharbor_backend.repositories.ProductRepository;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import com.dealharbor.dealharbor_backend.search.ProductDocument;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Homepage "shop by category" previews. All categories come from one windowed query (top N per
+ * category plus per-category totals) and the result is cached until a product that is or was
+ * approved changes, with a TTL bounding staleness from seller or category edits.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryPreviewService {
+
+    private static final int MAX_PRODUCTS_PER_CATEGORY = 24;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private record CachedPreviews(List<CategoryProductPreview> previews, Instant expiresAt) {
+    }
+
+    private final ProductRepository productRepository;
+    private final CategoryService categoryService;
+    private final ProductMapper productMapper;
+
+    private final Map<Integer, CachedPreviews> cache = new HashMap<>();
+    private long generation;
+
+    public List<CategoryProductPreview> getProductsByCategoryPreview(int productsPerCategory) {
+        int perCategory = Math.max(1, Math.min(productsPerCategory, MAX_PRODUCTS_PER_CATEGORY));
+        long generationSeen;
+        synchronized (cache) {
+            CachedPreviews cached = cache.get(perCategory);
+            if (cached != null && Instant.now().isBefore(cached.expiresAt())) {
+                return cached.previews();
+            }
+            generationSeen = generation;
+        }
+
+        List<CategoryProductPreview> previews = loadPreviews(perCategory);
+
+        synchronized (cache) {
+            // Skip the put if a product changed while loading; the next request reloads
+            if (generation == generationSeen) {
+                cache.put(perCategory, new CachedPreviews(previews, Instant.now().plus(TTL)));
+            }
+        }
+        return previews;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (isApproved(event.previous()) || isApproved(event.current())) {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        synchronized (cache) {
+            generation++;
+            cache.clear();
+        }
+    }
+
+    private List<CategoryProductPreview> loadPreviews(int perCategory) {
+        Map<String, List<CategoryPreviewView>> rowsByCategory = new HashMap<>();
+        List<CategoryPreviewView> allRows = productRepository.findCategoryPreviewRows(perCategory);
+        for (CategoryPreviewView row : allRows) {
+            rowsByCategory.computeIfAbsent(row.getCategoryId(), id -> new ArrayList<>()).add(row);
+        }
+        
+        // One image query for every card on the widget, regrouped by category below
+        Map<String, ProductSummaryResponse> cards = new LinkedHashMap<>();
+        productMapper.toSummaries(new ArrayList<>(allRows)).forEach(card -> cards.put(card.getId(), card));
+        
+        // Get all active categories (not just main categories) to keep their display order
+        List<CategoryProductPreview> previews = new ArrayList<>();
+        for (CategoryTree.Node category : categoryService.tree().activeCategories()) {
+            List<CategoryPreviewView> rows = rowsByCategory.get(category.id());
+            if (rows == null) {
+                continue; // Only include categories with products
+            }
+            previews.add(CategoryProductPreview.builder()
+                    .categoryId(category.id())
+                    .categoryName(category.name())
+                    .categoryIcon(category.iconUrl())
+                    .categoryImage(category.iconUrl()) // Using iconUrl for both
+                    .totalProducts((int) rows.get(0).getCategoryTotal())
+                    .products(rows.stream().map(row -> cards.get(row.getId())).toList())
+                    .build());
+        }
+        return previews;
+    }
+
+    private static boolean isApproved(ProductDocument document) {
+        return document != null && document.status() == ProductStatus.APPROVED;
+    }
+}
@@ -2,39 +2,49 @@ package com.dealharbor.dealharbor_backend.services;
 
 import com.dealharbor.dealharbor_backend.dto.CategoryResponse;
 import com.dealharbor.dealharbor_backend.dto.FeaturedCategoryResponse;
-import com.dealharbor.dealharbor_backend.entities.Category;
-import com.dealharbor.dealharbor_backend.enums.ProductStatus;
 import com.dealharbor.dealharbor_backend.repositories.CategoryRepository;
 import com.dealharbor.dealharbor_backend.repositories.ProductRepository;
+import com.dealharbor.dealharbor_backend.search.ProductSearchEngine;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+/**
+ * Category reads are served from an immutable {@link CategoryTree} held in an AtomicReference.
+ * The tree is loaded on first use and swapped for a new version by {@link #reloadTree()} whenever
+ * categories change (and periodically as a safety net), so reads never touch the database.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
+    private final ProductSearchEngine productSearchEngine;
+
+    private final AtomicReference<CategoryTree> tree = new AtomicReference<>();
 
     public List<CategoryResponse> getAllCategories() {
-        List<Category> categories = categoryRepository.findByIsActiveTrueOrderBySortOrderAsc();
-        return categories.stream()
+        return tree().activeCategories().stream()
                 .map(this::convertToCategoryResponse)
                 .collect(Collectors.toList());
     }
 
     public List<CategoryResponse> getMainCategories() {
-        List<Category> mainCategories = categoryRepository.findMainCategories();
-        return mainCategories.stream()
+        CategoryTree current = tree();
+        return current.activeRoots().stream()
                 .map(category -> {
                     CategoryResponse response = convertToCategoryResponse(category);
-                    // Load subcategories
-                    List<Category> subcategories = categoryRepository.findSubCategories(category.getId());
-                    response.setSubcategories(subcategories.stream()
+                    response.setSubcategories(current.activeChildren(category.id()).stream()
                             .map(this::convertToCategoryResponse)
                             .collect(Collectors.toList()));
                     return response;
@@ -43,14 +53,13 @@ public class CategoryService {
     }
 
     public List<CategoryResponse> getSubCategories(String parentId) {
-        List<Category> subcategories = categoryRepository.findByParentIdAndIsActiveTrueOrderBySortOrderAsc(parentId);
-        return subcategories.stream()
+        return tree().activeChildren(parentId).stream()
                 .map(this::convertToCategoryResponse)
                 .collect(Collectors.toList());
     }
 
     public CategoryResponse getCategoryById(String categoryId) {
-        Category category = categoryRepository.findById(categoryId)
+        CategoryTree.Node category = tree().find(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
         return convertToCategoryResponse(category);
     }
@@ -59,41 +68,65 @@ public class CategoryService {
      * Get featured categories ordered by product count (for Quick Browse section)
      */
     public List<FeaturedCategoryResponse> getFeaturedCategories(int limit) {
-        List<Category> categories = categoryRepository.findByIsActiveTrueOrderBySortOrderAsc();
-        
-        return categories.stream()
-                .map(category -> {
-                    long productCount = productRepository.countByCategoryIdAndStatus(
-                            category.getId(), ProductStatus.APPROVED);
-                    return FeaturedCategoryResponse.builder()
-                            .id(category.getId())
-                            .name(category.getName())
-                            .productCount(productCount)
-                            .iconName(category.getIconUrl())
-                            .imageUrl(category.getIconUrl())
-                            .build();
-                })
+        return tree().activeCategories().stream()
+                .map(category -> FeaturedCategoryResponse.builder()
+                        .id(category.id())
+                        .name(category.name())
+                        .productCount(countApprovedProducts(category))
+                        .iconName(category.iconUrl())
+                        .imageUrl(category.iconUrl())
+                        .build())
                 .sorted(Comparator.comparingLong(FeaturedCategoryResponse::getProductCount).reversed())
                 .limit(limit)
                 .collect(Collectors.toList());
     }
 
-    private CategoryResponse convertToCategoryResponse(Category category) {
-        long productCount = productRepository.countByCategoryIdAndStatus(
-                category.getId(), ProductStatus.APPROVED);
-        
+    public CategoryTree tree() {
+        CategoryTree current = tree.get();
+        return current != null ? current : reloadTree();
+    }
+
+    /**
+     * Loads the categories table into a new tree and swaps it in.
+     */
+    public synchronized CategoryTree reloadTree() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : productRepository.countApprovedGroupedByCategory()) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        CategoryTree previous = tree.get();
+        CategoryTree loaded = CategoryTree.build(categoryRepository.findAll(), counts,
+                previous != null ? previous.version() + 1 : 1);
+        tree.set(loaded);
+        log.info("Category tree v{} loaded with {} categories", loaded.version(), loaded.size());
+        return loaded;
+    }
+
+    @Scheduled(cron = "0 15 * * * *")
+    public void scheduledReload() {
+        reloadTree();
+    }
+
+    private CategoryResponse convertToCategoryResponse(CategoryTree.Node category) {
         return new CategoryResponse(
-                category.getId(),
-                category.getName(),
-                category.getDescription(),
-                category.getParentId(),
-                category.getIconUrl(),
-                category.getIsActive(),
-                category.getSortOrder(),
-                category.getCreatedAt(),
-                productCount,
+                category.id(),
+                category.name(),
+                category.description(),
+                category.parentId(),
+                category.iconUrl(),
+                category.active(),
+                category.sortOrder(),
+                category.createdAt(),
+                countApprovedProducts(category),
                 null // Subcategories loaded separately when needed
         );
     }
-}
 
+    // Live counts from the search index's category bitmaps; the tree's load-time counts until it is built
+    private long countApprovedProducts(CategoryTree.Node category) {
+        if (productSearchEngine.isReady()) {
+            return productSearchEngine.categoryCount(category.id());
+        }
+        return category.productCount();
+    }
+}
@@ -0,0 +1,145 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.entities.Category;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of the category hierarchy. Built once from the categories table and replaced
+ * wholesale on reload, so readers never lock and never see a half-updated tree.
+ * Product counts are the approved counts at build time; live counts come from the search index.
+ */
+public final class CategoryTree {
+
+    public static final String FALLBACK_CATEGORY_ID = "others";
+
+    // Guards path building against a parent cycle in bad data
+    private static final int MAX_DEPTH = 16;
+
+    public record Node(
+            String id,
+            String name,
+            String description,
+            String parentId,
+            String iconUrl,
+            boolean active,
+            int sortOrder,
+            Instant createdAt,
+            List<String> path,
+            List<String> childIds,
+            long productCount
+    ) {
+    }
+
+    private final Map<String, Node> byId;
+    private final List<Node> active;
+    private final List<Node> activeRoots;
+    private final long version;
+    private final Instant loadedAt;
+
+    private CategoryTree(Map<String, Node> byId, long version) {
+        this.byId = byId;
+        this.active = byId.values().stream().filter(Node::active).toList();
+        this.activeRoots = active.stream().filter(node -> node.parentId() == null).toList();
+        this.version = version;
+        this.loadedAt = Instant.now();
+    }
+
+    static CategoryTree build(List<Category> categories, Map<String, Long> productCounts, long version) {
+        List<Category> sorted = new ArrayList<>(categories);
+        sorted.sort(Comparator.comparing(Category::getSortOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Category::getName));
+
+        Map<String, Category> entities = new HashMap<>();
+        Map<String, List<String>> children = new HashMap<>();
+        for (Category category : sorted) {
+            entities.put(category.getId(), category);
+            if (category.getParentId() != null) {
+                children.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(category.getId());
+            }
+        }
+
+        // Insertion order is the sort order, so filtered views stay sorted
+        Map<String, Node> byId = new LinkedHashMap<>();
+        for (Category category : sorted) {
+            byId.put(category.getId(), new Node(
+                    category.getId(),
+                    category.getName(),
+                    category.getDescription(),
+                    category.getParentId(),
+                    category.getIconUrl(),
+                    Boolean.TRUE.equals(category.getIsActive()),
+                    category.getSortOrder() != null ? category.getSortOrder() : 0,
+                    category.getCreatedAt(),
+                    pathOf(category, entities),
+                    List.copyOf(children.getOrDefault(category.getId(), List.of())),
+                    productCounts.getOrDefault(category.getId(), 0L)
+            ));
+        }
+        return new CategoryTree(Collections.unmodifiableMap(byId), version);
+    }
+
+    public Optional<Node> find(String id) {
+        return Optional.ofNullable(id != null ? byId.get(id) : null);
+    }
+
+    /**
+     * The requested category, or the "others" category when it does not exist.
+     */
+    public Node resolveOrFallback(String id) {
+        return find(id)
+                .or(() -> find(FALLBACK_CATEGORY_ID))
+                .orElseThrow(() -> new RuntimeException("Default 'others' category not found. Please run category initialization."));
+    }
+
+    public List<Node> activeCategories() {
+        return active;
+    }
+
+    public List<Node> activeRoots() {
+        return activeRoots;
+    }
+
+    public List<Node> activeChildren(String parentId) {
+        Node parent = byId.get(parentId);
+        if (parent == null) {
+            return List.of();
+        }
+        return parent.childIds().stream().map(byId::get).filter(Node::active).toList();
+    }
+
+    public String nameOf(String id) {
+        Node node = byId.get(id);
+        return node != null ? node.name() : null;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    private static List<String> pathOf(Category category, Map<String, Category> entities) {
+        List<String> path = new ArrayList<>();
+        Category current = category;
+        while (current != null && path.size() < MAX_DEPTH) {
+            path.add(0, current.getName());
+            current = current.getParentId() != null ? entities.get(current.getParentId()) : null;
+        }
+        return List.copyOf(path);
+    }
+}
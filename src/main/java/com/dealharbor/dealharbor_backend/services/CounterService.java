@@ -0,0 +1,47 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.repositories.ProductRepository;
+import com.dealharbor.dealharbor_backend.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Denormalized counters on products and users, changed with single atomic UPDATE statements
+ * ({@code count = count + 1}) instead of load-modify-save. Concurrent changes cannot overwrite each
+ * other and the row lock is held only for the statement. Runs in the caller's transaction, so a
+ * counter moves together with the favorite, listing or order row that caused it.
+ * Entities updated elsewhere use dynamic updates, so saving them never writes a stale counter back.
+ */
+@Service
+@RequiredArgsConstructor
+public class CounterService {
+
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+
+    public void favoriteAdded(String productId) {
+        if (productRepository.incrementFavoriteCount(productId) == 0) {
+            throw new RuntimeException("Product not found");
+        }
+    }
+
+    public void favoriteRemoved(String productId) {
+        productRepository.decrementFavoriteCount(productId);
+    }
+
+    public void listingCreated(String sellerId) {
+        userRepository.incrementListings(sellerId);
+    }
+
+    public void listingClosed(String sellerId) {
+        userRepository.decrementActiveListings(sellerId);
+    }
+
+    public void saleCompleted(String sellerId, String buyerId, BigDecimal amount) {
+        userRepository.recordSale(sellerId, amount, Instant.now());
+        userRepository.incrementPurchases(buyerId);
+    }
+}
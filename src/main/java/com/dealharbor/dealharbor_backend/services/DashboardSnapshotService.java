@@ -0,0 +1,154 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.AdminDashboardResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Admin dashboard counts computed in one SQL pass (one FILTERed aggregate per table, cross joined)
+ * on a schedule and served from memory. Manual refreshes are single-flighted: an admin who asks
+ * while a refresh is running waits for that one instead of starting another.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSnapshotService {
+
+    private static final String DASHBOARD_SQL =
+            "SELECT u.total_users, u.active_users, u.banned_users, u.verified_students, u.today_registrations, " +
+            "p.total_products, p.pending_products, p.approved_products, p.sold_products, p.featured_products, " +
+            "p.today_products, o.total_orders, o.pending_orders, o.completed_orders, o.cancelled_orders, " +
+            "o.today_orders, pr.total_reviews + ur.total_reviews AS total_reviews, " +
+            "pr.pending_reviews + ur.pending_reviews AS pending_reviews " +
+            "FROM (SELECT COUNT(*) AS total_users, " +
+            "COUNT(*) FILTER (WHERE deleted = false AND enabled = true) AS active_users, " +
+            "COUNT(*) FILTER (WHERE is_banned = true) AS banned_users, " +
+            "COUNT(*) FILTER (WHERE is_verified_student = true) AS verified_students, " +
+            "COUNT(*) FILTER (WHERE created_at > :todayStart) AS today_registrations FROM users) u " +
+            "CROSS JOIN (SELECT COUNT(*) AS total_products, " +
+            "COUNT(*) FILTER (WHERE status = 'PENDING') AS pending_products, " +
+            "COUNT(*) FILTER (WHERE status = 'APPROVED') AS approved_products, " +
+            "COUNT(*) FILTER (WHERE status = 'SOLD') AS sold_products, " +
+            "COUNT(*) FILTER (WHERE status = 'APPROVED' AND is_featured = true) AS featured_products, " +
+            "COUNT(*) FILTER (WHERE created_at > :todayStart) AS today_products FROM products) p " +
+            "CROSS JOIN (SELECT COUNT(*) AS total_orders, " +
+            "COUNT(*) FILTER (WHERE status = 'PENDING') AS pending_orders, " +
+            "COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed_orders, " +
+            "COUNT(*) FILTER (WHERE status = 'CANCELLED') AS cancelled_orders, " +
+            "COUNT(*) FILTER (WHERE created_at > :todayStart) AS today_orders FROM orders) o " +
+            "CROSS JOIN (SELECT COUNT(*) AS total_reviews, " +
+            "COUNT(*) FILTER (WHERE is_approved = false) AS pending_reviews FROM product_reviews) pr " +
+            "CROSS JOIN (SELECT COUNT(*) AS total_reviews, " +
+            "COUNT(*) FILTER (WHERE is_approved = false) AS pending_reviews FROM user_reviews) ur";
+
+    private record Snapshot(AdminDashboardResponse counts, Instant takenAt) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+
+    public AdminDashboardResponse getDashboard() {
+        Snapshot current = snapshot;
+        return toResponse(current != null ? current : refreshSnapshot());
+    }
+
+    public AdminDashboardResponse refresh() {
+        return toResponse(refreshSnapshot());
+    }
+
+    @Scheduled(fixedDelayString = "PT1M", initialDelayString = "PT1M")
+    public void scheduledRefresh() {
+        refreshSnapshot();
+    }
+
+    private Snapshot refreshSnapshot() {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw new RuntimeException("Dashboard refresh failed: " + e.getCause().getMessage());
+            }
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            Snapshot fresh = new Snapshot(loadCounts(), Instant.now());
+            snapshot = fresh;
+            mine.complete(fresh);
+            log.debug("Admin dashboard snapshot refreshed in {} ms", System.currentTimeMillis() - start);
+            return fresh;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private AdminDashboardResponse loadCounts() {
+        Instant todayStart = LocalDate.now().atStartOfDay().toInstant(ZoneOffset.UTC);
+        return jdbcTemplate.queryForObject(DASHBOARD_SQL, Map.of("todayStart", Timestamp.from(todayStart)),
+                (rs, rowNum) -> new AdminDashboardResponse(
+                        // User Statistics
+                        rs.getLong("total_users"),
+                        rs.getLong("active_users"),
+                        rs.getLong("banned_users"),
+                        rs.getLong("verified_students"),
+
+                        // Product Statistics
+                        rs.getLong("total_products"),
+                        rs.getLong("pending_products"),
+                        rs.getLong("approved_products"),
+                        rs.getLong("sold_products"),
+                        rs.getLong("featured_products"),
+
+                        // Order Statistics
+                        rs.getLong("total_orders"),
+                        rs.getLong("pending_orders"),
+                        rs.getLong("completed_orders"),
+                        rs.getLong("cancelled_orders"),
+
+                        // Review Statistics
+                        rs.getLong("total_reviews"),
+                        rs.getLong("pending_reviews"),
+
+                        // Today's Activity
+                        rs.getLong("today_registrations"),
+                        rs.getLong("today_products"),
+                        rs.getLong("today_orders"),
+                        null,
+                        0
+                ));
+    }
+
+    private static AdminDashboardResponse toResponse(Snapshot snapshot) {
+        AdminDashboardResponse counts = snapshot.counts();
+        return new AdminDashboardResponse(
+                counts.getTotalUsers(), counts.getActiveUsers(), counts.getBannedUsers(), counts.getVerifiedStudents(),
+                counts.getTotalProducts(), counts.getPendingProducts(), counts.getApprovedProducts(),
+                counts.getSoldProducts(), counts.getFeaturedProducts(),
+                counts.getTotalOrders(), counts.getPendingOrders(), counts.getCompletedOrders(), counts.getCancelledOrders(),
+                counts.getTotalReviews(), counts.getPendingReviews(),
+                counts.getTodayRegistrations(), counts.getTodayProducts(), counts.getTodayOrders(),
+                snapshot.takenAt(),
+                Duration.between(snapshot.takenAt(), Instant.now()).toSeconds()
+        );
+    }
+}
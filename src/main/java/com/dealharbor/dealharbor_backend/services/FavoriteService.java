@@ -5,6 +5,7 @@ import com.dealharbor.dealharbor_backend.dto.PagedResponse;
 import com.dealharbor.dealharbor_backend.entities.*;
 import com.dealharbor.dealharbor_backend.repositories.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,6 +25,8 @@ public class FavoriteService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CounterService counterService;
 
     @Transactional
     public void addToFavorites(String productId, Authentication authentication) {
@@ -47,8 +50,8 @@ public class FavoriteService {
         favoriteRepository.save(favorite);
         
         // Update product favorite count
-        product.setFavoriteCount(product.getFavoriteCount() + 1);
-        productRepository.save(product);
+        counterService.favoriteAdded(productId);
+        eventPublisher.publishEvent(ProductEngagementEvent.favorited(productId));
         
         // Notify seller
         notificationService.createNotification(
@@ -73,10 +76,7 @@ public class FavoriteService {
         favoriteRepository.deleteByUserIdAndProductId(user.getId(), productId);
         
         // Update product favorite count
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-        product.setFavoriteCount(Math.max(0, product.getFavoriteCount() - 1));
-        productRepository.save(product);
+        counterService.favoriteRemoved(productId);
     }
 
     public PagedResponse<FavoriteResponse> getUserFavorites(Authentication authentication, int page, int size) {
@@ -0,0 +1,220 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.HomepageResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the landing page in one request. Sections load concurrently, each in its own read-only
+ * transaction, on a bounded executor. A section that fails, times out or is rejected by a saturated
+ * executor keeps its value from the previous snapshot instead of failing the page.
+ * Snapshots are served from memory: complete ones for 30 seconds, partial ones for 5 so failed
+ * sections are retried soon. Once a snapshot expires it is still served while a single background
+ * refresh runs; only the very first request waits for one.
+ */
+@Service
+@Slf4j
+public class HomepageService {
+
+    private static final int MAX_CONCURRENCY = 10;
+    private static final Duration SECTION_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration SNAPSHOT_TTL = Duration.ofSeconds(30);
+    private static final Duration PARTIAL_SNAPSHOT_TTL = Duration.ofSeconds(5);
+
+    private record Snapshot(HomepageResponse response, Instant expiresAt) {
+    }
+
+    private final ProductService productService;
+    private final CategoryPreviewService categoryPreviewService;
+    private final SellerService sellerService;
+    private final TestimonialService testimonialService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AsyncTaskExecutor executor;
+    private final ThreadPoolTaskExecutor platformExecutor;
+
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+
+    public HomepageService(ProductService productService,
+                           CategoryPreviewService categoryPreviewService,
+                           SellerService sellerService,
+                           TestimonialService testimonialService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.productService = productService;
+        this.categoryPreviewService = categoryPreviewService;
+        this.sellerService = sellerService;
+        this.testimonialService = testimonialService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Applied as the JDBC query timeout, so a section that is given up on also stops its query
+        this.readOnlyTransaction.setTimeout((int) SECTION_TIMEOUT.toSeconds());
+
+        // Virtual threads need a Java 21 runtime; otherwise fall back to a small platform thread pool
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor virtualExecutor = new SimpleAsyncTaskExecutor("homepage-");
+            virtualExecutor.setVirtualThreads(true);
+            virtualExecutor.setConcurrencyLimit(MAX_CONCURRENCY);
+            this.executor = virtualExecutor;
+            this.platformExecutor = null;
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(MAX_CONCURRENCY);
+            pool.setMaxPoolSize(MAX_CONCURRENCY);
+            pool.setQueueCapacity(100);
+            pool.setThreadNamePrefix("homepage-");
+            // When saturated a section is rejected and keeps its previous value; it never runs on the caller
+            pool.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+            pool.initialize();
+            this.executor = pool;
+            this.platformExecutor = pool;
+        }
+    }
+
+    public HomepageResponse getHomepage() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return refresh().join().response();
+        }
+        if (Instant.now().isAfter(current.expiresAt())) {
+            refresh();
+        }
+        return current.response();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (platformExecutor != null) {
+            platformExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Starts a refresh unless one is already running, and returns the running one either way.
+     */
+    private CompletableFuture<Snapshot> refresh() {
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            return running;
+        }
+
+        Snapshot previous = snapshot;
+        new Assembly(previous != null ? previous.response() : null).run().whenComplete((response, ex) -> {
+            if (ex != null) {
+                inFlight.set(null);
+                mine.completeExceptionally(ex);
+                return;
+            }
+            Duration ttl = response.getFailedSections().isEmpty() ? SNAPSHOT_TTL : PARTIAL_SNAPSHOT_TTL;
+            Snapshot fresh = new Snapshot(response, Instant.now().plus(ttl));
+            snapshot = fresh;
+            inFlight.set(null);
+            mine.complete(fresh);
+        });
+        return mine;
+    }
+
+    /**
+     * One refresh: loads every section and falls back to the previous page for those that fail.
+     */
+    private final class Assembly {
+
+        private final HomepageResponse previous;
+        private final List<String> failed = Collections.synchronizedList(new ArrayList<>());
+
+        private Assembly(HomepageResponse previous) {
+            this.previous = previous;
+        }
+
+        CompletableFuture<HomepageResponse> run() {
+            var featured = load("featured", () -> productService.getFeaturedProducts(0, 20),
+                    HomepageResponse::getFeatured);
+            var trending = load("trending", () -> productService.getTrendingProducts(0, 12),
+                    HomepageResponse::getTrending);
+            var recent = load("recent", () -> productService.getRecentProducts(0, 12),
+                    HomepageResponse::getRecent);
+            var justListed = load("justListed", () -> productService.getJustListedProducts(10, 24),
+                    HomepageResponse::getJustListed);
+            var deals = load("deals", () -> productService.getDealsOfTheDay(0, 12),
+                    HomepageResponse::getDeals);
+            var topRated = load("topRated", () -> productService.getTopRatedProducts(0, 12),
+                    HomepageResponse::getTopRated);
+            var categoryPreviews = load("categoryPreviews", () -> categoryPreviewService.getProductsByCategoryPreview(6),
+                    HomepageResponse::getCategoryPreviews);
+            var stats = load("stats", productService::getHomepageStats,
+                    HomepageResponse::getStats);
+            var topSellers = load("topSellers", () -> sellerService.getTopRatedSellers(6, BigDecimal.valueOf(4.0), true),
+                    HomepageResponse::getTopSellers);
+            var testimonials = load("testimonials", () -> testimonialService.getTestimonials(3, true),
+                    HomepageResponse::getTestimonials);
+
+            return CompletableFuture.allOf(featured, trending, recent, justListed, deals, topRated,
+                    categoryPreviews, stats, topSellers, testimonials).thenApply(done -> HomepageResponse.builder()
+                    .featured(featured.join())
+                    .trending(trending.join())
+                    .recent(recent.join())
+                    .justListed(justListed.join())
+                    .deals(deals.join())
+                    .topRated(topRated.join())
+                    .categoryPreviews(categoryPreviews.join())
+                    .stats(stats.join())
+                    .topSellers(topSellers.join())
+                    .testimonials(testimonials.join())
+                    .failedSections(List.copyOf(failed))
+                    .generatedAt(Instant.now())
+                    .build());
+        }
+
+        private <T> CompletableFuture<T> load(String section, Supplier<T> loader, Function<HomepageResponse, T> lastGood) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Future<?> task;
+            try {
+                task = executor.submit(() -> {
+                    try {
+                        result.complete(readOnlyTransaction.execute(status -> loader.get()));
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                result.completeExceptionally(e);
+                task = null;
+            }
+
+            Future<?> submitted = task;
+            return result.orTimeout(SECTION_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(ex -> {
+                        if (submitted != null) {
+                            // Frees the pool thread of a hung section; the transaction timeout stops its query
+                            submitted.cancel(true);
+                        }
+                        log.warn("Homepage section {} failed: {}", section, ex.toString());
+                        failed.add(section);
+                        return previous != null ? lastGood.apply(previous) : null;
+                    });
+        }
+    }
+}
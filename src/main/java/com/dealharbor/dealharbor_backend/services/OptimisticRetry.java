@@ -0,0 +1,142 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.RowContentionResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write in its own transaction and replays it when another transaction committed
+ * a newer @Version of one of its rows first. Only for work that re-reads its state and is safe to
+ * repeat; emails and other side effects that leave the database belong after the call.
+ * Every conflict is counted in {@code db.optimistic.conflicts} (tagged by operation, entity and
+ * outcome) and tallied per row, so hot rows show up on the admin contention endpoint.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    static final int MAX_ATTEMPTS = 3;
+    private static final long BACKOFF_MILLIS = 25;
+    private static final int MAX_TRACKED_ROWS = 1000;
+
+    public static final String CONFLICT_MESSAGE = "This item was changed by someone else at the same time. Please reload and try again.";
+
+    private final TransactionTemplate transaction;
+    private final MeterRegistry meterRegistry;
+
+    // Conflicts per "Entity#id" since the last hourly reset; bounded so a conflict storm cannot grow it unchecked
+    private final Map<String, LongAdder> conflictsByRow = new ConcurrentHashMap<>();
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Joined an outer transaction: a conflict only surfaces at its commit, so there is nothing to replay here
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                boolean exhausted = attempt >= MAX_ATTEMPTS;
+                String row = record(operation, e, exhausted);
+                if (exhausted) {
+                    log.warn("Giving up on {} after {} conflicting attempts on {}", operation, attempt, row);
+                    throw new OptimisticLockingFailureException(CONFLICT_MESSAGE, e);
+                }
+                log.debug("Version conflict on {} during {}, retrying (attempt {})", row, operation, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    public void run(String operation, Runnable work) {
+        execute(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Rows with the most conflicts since the last hourly reset.
+     */
+    public List<RowContentionResponse> hotRows(int limit) {
+        return conflictsByRow.entrySet().stream()
+                .map(entry -> {
+                    String[] parts = entry.getKey().split("#", 2);
+                    return RowContentionResponse.builder()
+                            .entity(parts[0])
+                            .entityId(parts.length > 1 ? parts[1] : null)
+                            .conflicts(entry.getValue().sum())
+                            .build();
+                })
+                .sorted(Comparator.comparingLong(RowContentionResponse::getConflicts).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @Scheduled(cron = "0 0 * * * *")
+    public void resetRowTally() {
+        conflictsByRow.clear();
+    }
+
+    private String record(String operation, RuntimeException e, boolean exhausted) {
+        String entity = "unknown";
+        String id = null;
+        if (e instanceof ObjectOptimisticLockingFailureException ormFailure) {
+            String className = ormFailure.getPersistentClassName();
+            entity = className != null ? className.substring(className.lastIndexOf('.') + 1) : entity;
+            id = ormFailure.getIdentifier() != null ? ormFailure.getIdentifier().toString() : null;
+        } else if (e instanceof OptimisticLockException jpaFailure && jpaFailure.getEntity() != null) {
+            entity = jpaFailure.getEntity().getClass().getSimpleName();
+        }
+
+        Counter.builder("db.optimistic.conflicts")
+                .description("Version conflicts on optimistically locked rows")
+                .tag("operation", operation)
+                .tag("entity", entity)
+                .tag("outcome", exhausted ? "exhausted" : "retried")
+                .register(meterRegistry)
+                .increment();
+
+        String row = id != null ? entity + "#" + id : entity;
+        LongAdder tally = conflictsByRow.get(row);
+        if (tally == null && conflictsByRow.size() < MAX_TRACKED_ROWS) {
+            tally = conflictsByRow.computeIfAbsent(row, key -> new LongAdder());
+        }
+        if (tally != null) {
+            tally.increment();
+        }
+        return row;
+    }
+
+    // Jittered so two writers that just collided do not collide again on the replay
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(BACKOFF_MILLIS * attempt + ThreadLocalRandom.current().nextLong(BACKOFF_MILLIS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OptimisticLockingFailureException(CONFLICT_MESSAGE);
+        }
+    }
+}
@@ -6,7 +6,10 @@ import com.dealharbor.dealharbor_backend.enums.OrderStatus;
 import com.dealharbor.dealharbor_backend.enums.ProductStatus;
 import com.dealharbor.dealharbor_backend.enums.NotificationType;
 import com.dealharbor.dealharbor_backend.repositories.*;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import com.dealharbor.dealharbor_backend.search.ProductDocument;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,6 +30,9 @@ public class OrderService {
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CounterService counterService;
+    private final OptimisticRetry optimisticRetry;
 
     @Transactional
     public OrderResponse createOrder(OrderCreateRequest request, Authentication authentication) {
@@ -76,8 +82,27 @@ public class OrderService {
         return convertToOrderResponse(order);
     }
 
-    @Transactional
     public OrderResponse updateOrderStatus(String orderId, OrderUpdateRequest request, Authentication authentication) {
+        // The transition re-reads the order on every attempt; the buyer is notified once, after it commits
+        OrderResponse response = optimisticRetry.execute("order.status",
+                () -> transitionOrder(orderId, request, authentication));
+
+        // Notify buyer about status change
+        String statusMessage = getStatusChangeMessage(request.getStatus());
+        notificationService.createNotification(
+                response.getBuyerId(),
+                "Order Status Updated",
+                "Your order for '" + response.getProductTitle() + "' has been " + statusMessage,
+                getNotificationTypeForStatus(request.getStatus()),
+                "/orders/" + response.getId(),
+                response.getId(),
+                "ORDER"
+        );
+        
+        return response;
+    }
+
+    private OrderResponse transitionOrder(String orderId, OrderUpdateRequest request, Authentication authentication) {
         User user = getUserFromAuthentication(authentication);
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
@@ -110,24 +135,16 @@ public class OrderService {
                     order.setCompletedAt(Instant.now());
                     // Update product status to sold
                     Product product = order.getProduct();
+                    ProductDocument previous = ProductDocument.from(product);
                     product.setStatus(ProductStatus.SOLD);
                     product.setSoldAt(Instant.now());
                     productRepository.save(product);
+                    eventPublisher.publishEvent(ProductChangedEvent.updated(previous, product));
                     
-                    // Update seller stats
-                    User seller = order.getSeller();
-                    seller.setTotalSales(seller.getTotalSales() + 1);
-                    seller.setTotalRevenue(seller.getTotalRevenue().add(order.getAgreedPrice()));
-                    seller.setActiveListings(Math.max(0, seller.getActiveListings() - 1));
-                    if (seller.getFirstSaleAt() == null) {
-                        seller.setFirstSaleAt(Instant.now());
-                    }
-                    userRepository.save(seller);
-                    
-                    // Update buyer stats
-                    User buyer = order.getBuyer();
-                    buyer.setTotalPurchases(buyer.getTotalPurchases() + 1);
-                    userRepository.save(buyer);
+                    // Update seller and buyer stats
+                    counterService.saleCompleted(order.getSeller().getId(), order.getBuyer().getId(),
+                            order.getAgreedPrice());
+                    eventPublisher.publishEvent(new SellerStatsChangedEvent(order.getSeller().getId()));
                 }
             }
             case CANCELLED -> {
@@ -139,18 +156,6 @@ public class OrderService {
         
         order = orderRepository.save(order);
         
-        // Notify buyer about status change
-        String statusMessage = getStatusChangeMessage(request.getStatus());
-        notificationService.createNotification(
-                order.getBuyer().getId(),
-                "Order Status Updated",
-                "Your order for '" + order.getProductTitle() + "' has been " + statusMessage,
-                getNotificationTypeForStatus(request.getStatus()),
-                "/orders/" + order.getId(),
-                order.getId(),
-                "ORDER"
-        );
-        
         return convertToOrderResponse(order);
     }
 
@@ -5,10 +5,13 @@ import com.dealharbor.dealharbor_backend.enums.ProductStatus;
 import com.dealharbor.dealharbor_backend.repositories.ProductRepository;
 import com.dealharbor.dealharbor_backend.repositories.SoldProductRepository;
 import com.dealharbor.dealharbor_backend.repositories.UnsoldProductRepository;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import com.dealharbor.dealharbor_backend.search.ProductDocument;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,12 +30,19 @@ public class ProductArchivalService {
     private final SoldProductRepository soldProductRepository;
     private final UnsoldProductRepository unsoldProductRepository;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetry optimisticRetry;
 
     /**
      * Mark a product as sold and move it to sold_products table
      */
-    @Transactional
     public SoldProduct markProductAsSold(String productId, String currentUserId, String buyerId, Double soldPrice) {
+        // A concurrent edit or moderation bumps the version and fails the delete; the replay re-checks ownership and status
+        return optimisticRetry.execute("product.markSold",
+                () -> archiveAsSold(productId, currentUserId, buyerId, soldPrice));
+    }
+
+    private SoldProduct archiveAsSold(String productId, String currentUserId, String buyerId, Double soldPrice) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
@@ -53,7 +63,9 @@ public class ProductArchivalService {
         soldProduct = soldProductRepository.save(soldProduct);
         
         // Delete from products table
+        ProductDocument previous = ProductDocument.from(product);
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.removed(previous));
         
         log.info("Product {} marked as sold and archived", productId);
         
@@ -99,7 +111,9 @@ public class ProductArchivalService {
         unsoldProduct = unsoldProductRepository.save(unsoldProduct);
         
         // Delete from products table
+        ProductDocument previous = ProductDocument.from(product);
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.removed(previous));
         
         log.info("Product {} archived as unsold", product.getId());
         
@@ -0,0 +1,52 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Fills products.discount_percent for rows saved before the column existed and creates the partial
+ * index behind deals-of-the-day and the average savings stat. Hibernate's schema update adds the
+ * column but cannot express a partial index. Both statements are no-ops once applied.
+ */
+@Service
+@RequiredArgsConstructor
+@Order(2)
+@Slf4j
+public class ProductDiscountBackfillService implements CommandLineRunner {
+
+    private static final String BACKFILL_SQL =
+            "UPDATE products SET discount_percent = ROUND((original_price - price) * 100 / original_price, 2) " +
+            "WHERE discount_percent IS NULL AND original_price > 0 AND original_price > price";
+
+    // Only approved, discounted rows are ever read through this index
+    private static final String INDEX_SQL =
+            "CREATE INDEX IF NOT EXISTS idx_products_approved_discount " +
+            "ON products (discount_percent DESC, created_at DESC) " +
+            "WHERE status = 'APPROVED' AND discount_percent IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        try {
+            int updated = jdbcTemplate.update(BACKFILL_SQL);
+            if (updated > 0) {
+                log.info("Backfilled discount percent for {} products", updated);
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to backfill product discount percent: {}", e.getMessage(), e);
+        }
+
+        try {
+            jdbcTemplate.execute(INDEX_SQL);
+        } catch (DataAccessException e) {
+            // Partial indexes are PostgreSQL-specific; deal queries still work without it
+            log.warn("Could not create partial discount index: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import java.time.Instant;
+
+/**
+ * Published when a shopper views or favorites an approved product.
+ * {@code viewerKey} identifies who viewed (user or client IP) and is null for favorites.
+ */
+public record ProductEngagementEvent(String productId, Kind kind, String viewerKey, Instant occurredAt) {
+
+    public enum Kind {
+        VIEW,
+        FAVORITE
+    }
+
+    public static ProductEngagementEvent viewed(String productId, String viewerKey) {
+        return new ProductEngagementEvent(productId, Kind.VIEW, viewerKey, Instant.now());
+    }
+
+    public static ProductEngagementEvent favorited(String productId) {
+        return new ProductEngagementEvent(productId, Kind.FAVORITE, null, Instant.now());
+    }
+}
@@ -0,0 +1,84 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import com.dealharbor.dealharbor_backend.repositories.ProductRepository;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import com.dealharbor.dealharbor_backend.search.ProductDocument;
+import com.dealharbor.dealharbor_backend.search.ProductSearchEngine;
+import com.dealharbor.dealharbor_backend.search.SearchResultCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Keeps the in-memory product search engine in sync with the database.
+ * Bootstraps from the products table on startup, applies lifecycle events after commit
+ * (evicting affected cached search pages) and does a nightly full rebuild to repair anything
+ * an event may have missed.
+ */
+@Service
+@RequiredArgsConstructor
+@Order(3)
+@Slf4j
+public class ProductIndexingService implements CommandLineRunner {
+
+    private final ProductRepository productRepository;
+    private final ProductSearchEngine searchEngine;
+    private final SearchResultCache searchResultCache;
+
+    @Override
+    public void run(String... args) {
+        try {
+            rebuildIndex();
+        } catch (Exception e) {
+            // Search falls back to database queries until the next successful rebuild
+            log.error("Failed to build product search index: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void scheduledRebuild() {
+        rebuildIndex();
+    }
+
+    public int rebuildIndex() {
+        long start = System.currentTimeMillis();
+        List<ProductDocument> documents = productRepository.findAllForIndexing(ProductStatus.APPROVED).stream()
+                .map(ProductDocument::from)
+                .toList();
+        searchEngine.rebuild(documents);
+        searchResultCache.clear();
+        log.info("Product search index rebuilt with {} products ({} terms) in {} ms",
+                searchEngine.size(), searchEngine.termCount(), System.currentTimeMillis() - start);
+        return searchEngine.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.current() != null) {
+            searchEngine.upsert(event.current());
+        } else {
+            searchEngine.remove(event.productId());
+        }
+        // After the index update, so a concurrent miss cannot re-cache a page computed from the old state
+        searchResultCache.invalidate(event);
+    }
+
+    /**
+     * Every approved listing of the seller carries the verified flag, so each one is re-indexed
+     * and the cached pages it could appear in before or after are evicted.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSellerVerificationChanged(SellerVerificationChangedEvent event) {
+        for (Product product : productRepository.findAllForIndexingBySeller(event.sellerId(), ProductStatus.APPROVED)) {
+            onProductChanged(ProductChangedEvent.updated(searchEngine.getDocument(product.getId()), product));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.PagedResponse;
+import com.dealharbor.dealharbor_backend.dto.ProductImageResponse;
+import com.dealharbor.dealharbor_backend.dto.ProductResponse;
+import com.dealharbor.dealharbor_backend.dto.ProductSummaryResponse;
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.ProductImage;
+import com.dealharbor.dealharbor_backend.repositories.ProductImageRepository;
+import com.dealharbor.dealharbor_backend.repositories.ProductSummaryView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Product -> ProductResponse mapping shared by the product, admin and review services.
+ * List variants load the images of the whole page with one IN query; seller and category are
+ * expected to be fetched with the products (listing queries declare an entity graph for them).
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductMapper {
+
+    private final ProductImageRepository productImageRepository;
+
+    public ProductResponse toResponse(Product product) {
+        return toResponse(product, product.getImages());
+    }
+
+    public List<ProductResponse> toResponses(List<Product> products) {
+        if (products.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<String> productIds = products.stream().map(Product::getId).toList();
+        Map<String, List<ProductImage>> imagesByProduct = new HashMap<>();
+        for (Object[] row : productImageRepository.findWithProductIdByProductIdIn(productIds)) {
+            imagesByProduct.computeIfAbsent((String) row[0], id -> new ArrayList<>()).add((ProductImage) row[1]);
+        }
+        
+        return products.stream()
+                .map(product -> toResponse(product, imagesByProduct.getOrDefault(product.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    public PagedResponse<ProductResponse> toPagedResponse(Page<Product> productPage) {
+        return new PagedResponse<>(
+                toResponses(productPage.getContent()),
+                productPage.getNumber(),
+                productPage.getSize(),
+                productPage.getTotalElements(),
+                productPage.getTotalPages(),
+                productPage.isFirst(),
+                productPage.isLast(),
+                productPage.hasNext(),
+                productPage.hasPrevious()
+        );
+    }
+
+    /**
+     * Cards from summary projections; the primary image URLs of the whole list come from one query.
+     */
+    public List<ProductSummaryResponse> toSummaries(List<ProductSummaryView> views) {
+        if (views.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        List<String> productIds = views.stream().map(ProductSummaryView::getId).toList();
+        Map<String, String> primaryImageUrls = new HashMap<>();
+        for (Object[] row : productImageRepository.findImageUrlsByProductIdIn(productIds)) {
+            primaryImageUrls.putIfAbsent((String) row[0], (String) row[1]);
+        }
+        
+        return views.stream()
+                .map(view -> new ProductSummaryResponse(
+                        view.getId(),
+                        view.getTitle(),
+                        view.getPrice(),
+                        view.getOriginalPrice(),
+                        view.getCondition(),
+                        primaryImageUrls.get(view.getId()),
+                        view.getSellerId(),
+                        view.getSellerName(),
+                        view.getSellerBadge() != null ? view.getSellerBadge().name() : null,
+                        view.getCategoryId(),
+                        view.getCategoryName()
+                ))
+                .collect(Collectors.toList());
+    }
+
+    public PagedResponse<ProductSummaryResponse> toPagedSummaries(Page<ProductSummaryView> page) {
+        return new PagedResponse<>(
+                toSummaries(page.getContent()),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.isFirst(),
+                page.isLast(),
+                page.hasNext(),
+                page.hasPrevious()
+        );
+    }
+
+    private ProductResponse toResponse(Product product, List<ProductImage> productImages) {
+        List<ProductImageResponse> images = productImages != null 
+                ? productImages.stream()
+                    .map(img -> new ProductImageResponse(
+                            img.getId(),
+                            img.getImageUrl(),
+                            img.getAltText(),
+                            img.getIsPrimary(),
+                            img.getSortOrder()
+                    ))
+                    .collect(Collectors.toList())
+                : List.of();
+        
+        String primaryImageUrl = images.stream()
+                .filter(ProductImageResponse::isPrimary)
+                .findFirst()
+                .map(ProductImageResponse::getImageUrl)
+                .orElse(images.isEmpty() ? null : images.get(0).getImageUrl());
+        
+        List<String> tags = product.getTags() != null 
+                ? List.of(product.getTags().split(","))
+                : List.of();
+        
+        return new ProductResponse(
+                product.getId(),
+                product.getTitle(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getOriginalPrice(),
+                product.getIsNegotiable(),
+                product.getCondition(),
+                product.getBrand(),
+                product.getModel(),
+                product.getStatus(),
+                product.getPickupLocation(),
+                product.getDeliveryAvailable(),
+                product.getViewCount(),
+                product.getFavoriteCount(),
+                product.getIsFeatured(),
+                tags,
+                product.getCreatedAt(),
+                product.getUpdatedAt(),
+                product.getSeller().getId(),
+                product.getSeller().getName(),
+                product.getSeller().getSellerBadge().name(),
+                product.getSeller().getSellerRating(),
+                product.getSeller().isVerifiedStudent(),
+                product.getCategory().getId(),
+                product.getCategory().getName(),
+                images,
+                primaryImageUrl
+        );
+    }
+}
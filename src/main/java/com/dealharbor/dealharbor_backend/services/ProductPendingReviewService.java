@@ -4,8 +4,11 @@ import com.dealharbor.dealharbor_backend.dto.*;
 import com.dealharbor.dealharbor_backend.entities.*;
 import com.dealharbor.dealharbor_backend.enums.*;
 import com.dealharbor.dealharbor_backend.repositories.*;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import com.dealharbor.dealharbor_backend.search.ProductDocument;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +33,9 @@ public class ProductPendingReviewService {
     private final EmailService emailService;
     private final NotificationService notificationService;
     private final AdminActionRepository adminActionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductMapper productMapper;
+    private final CounterService counterService;
     
     // Get all pending reviews for admin
     public PagedResponse<ProductPendingReviewResponse> getAllPendingReviews(int page, int size) {
@@ -61,6 +67,7 @@ public class ProductPendingReviewService {
         
         Product product = review.getProduct();
         User seller = product.getSeller();
+        ProductDocument previous = ProductDocument.from(product);
         
         if (request.getDecision() == ProductStatus.APPROVED) {
             // Approve the product
@@ -72,6 +79,7 @@ public class ProductPendingReviewService {
             }
             product.setUpdatedAt(Instant.now());
             productRepository.save(product);
+            eventPublisher.publishEvent(ProductChangedEvent.updated(previous, product));
             
             // Mark review as resolved
             review.setIsResolved(true);
@@ -114,6 +122,7 @@ public class ProductPendingReviewService {
             product.setStatus(ProductStatus.REJECTED);
             product.setAdminNotes(request.getAdminNotes());
             productRepository.save(product);
+            eventPublisher.publishEvent(ProductChangedEvent.updated(previous, product));
             
             // Mark review as resolved
             review.setIsResolved(true);
@@ -151,8 +160,7 @@ public class ProductPendingReviewService {
                     request.getReason());
             
             // Update seller stats
-            seller.setActiveListings(Math.max(0, seller.getActiveListings() - 1));
-            userRepository.save(seller);
+            counterService.listingClosed(seller.getId());
             
             log.info("Admin {} rejected product {} from review queue", admin.getEmail(), product.getId());
             
@@ -160,7 +168,7 @@ public class ProductPendingReviewService {
             throw new RuntimeException("Invalid decision. Must be APPROVED or REJECTED");
         }
         
-        return convertToProductResponse(product);
+        return productMapper.toResponse(product);
     }
     
     // Get count of pending reviews
@@ -214,60 +222,6 @@ public class ProductPendingReviewService {
         );
     }
     
-    private ProductResponse convertToProductResponse(Product product) {
-        List<ProductImageResponse> images = product.getImages() != null 
-                ? product.getImages().stream()
-                    .map(img -> new ProductImageResponse(
-                            img.getId(),
-                            img.getImageUrl(),
-                            img.getAltText(),
-                            img.getIsPrimary(),
-                            img.getSortOrder()
-                    ))
-                    .collect(Collectors.toList())
-                : List.of();
-        
-        String primaryImageUrl = images.stream()
-                .filter(ProductImageResponse::isPrimary)
-                .findFirst()
-                .map(ProductImageResponse::getImageUrl)
-                .orElse(images.isEmpty() ? null : images.get(0).getImageUrl());
-        
-        List<String> tags = product.getTags() != null 
-                ? List.of(product.getTags().split(","))
-                : List.of();
-        
-        return new ProductResponse(
-                product.getId(),
-                product.getTitle(),
-                product.getDescription(),
-                product.getPrice(),
-                product.getOriginalPrice(),
-                product.getIsNegotiable(),
-                product.getCondition(),
-                product.getBrand(),
-                product.getModel(),
-                product.getStatus(),
-                product.getPickupLocation(),
-                product.getDeliveryAvailable(),
-                product.getViewCount(),
-                product.getFavoriteCount(),
-                product.getIsFeatured(),
-                tags,
-                product.getCreatedAt(),
-                product.getUpdatedAt(),
-                product.getSeller().getId(),
-                product.getSeller().getName(),
-                product.getSeller().getSellerBadge().name(),
-                product.getSeller().getSellerRating(),
-                product.getSeller().isVerifiedStudent(),
-                product.getCategory().getId(),
-                product.getCategory().getName(),
-                images,
-                primaryImageUrl
-        );
-    }
-    
     private void recordAdminAction(User admin, String actionType, String targetType, String targetId, String reason) {
         AdminAction action = AdminAction.builder()
                 .admin(admin)
@@ -5,12 +5,23 @@ import com.dealharbor.dealharbor_backend.entities.*;
 import com.dealharbor.dealharbor_backend.enums.NotificationType;
 import com.dealharbor.dealharbor_backend.enums.ProductStatus;
 import com.dealharbor.dealharbor_backend.repositories.*;
+import com.dealharbor.dealharbor_backend.search.FacetCounts;
+import com.dealharbor.dealharbor_backend.search.PriceBuckets;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import com.dealharbor.dealharbor_backend.search.ProductDocument;
+import com.dealharbor.dealharbor_backend.search.ProductSearchEngine;
+import com.dealharbor.dealharbor_backend.search.ScoredDocument;
+import com.dealharbor.dealharbor_backend.search.SearchCacheKey;
+import com.dealharbor.dealharbor_backend.search.SearchResultCache;
+import com.dealharbor.dealharbor_backend.search.SearchFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,8 +30,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -29,21 +50,31 @@ public class ProductService {
     
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryService categoryService;
     private final ProductImageRepository productImageRepository;
     private final UserRepository userRepository;
     private final StorageService storageService;
     private final EmailService emailService;
     private final ProductPendingReviewRepository productPendingReviewRepository;
     private final NotificationService notificationService;
+    private final ProductSearchEngine productSearchEngine;
+    private final TagService tagService;
+    private final SearchResultCache searchResultCache;
+    private final ProductMapper productMapper;
+    private final CatalogStatisticsService catalogStatisticsService;
+    private final TrendingService trendingService;
+    private final CounterService counterService;
+    private final UniqueViewerService uniqueViewerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProductResponse createProduct(ProductCreateRequest request, Authentication authentication) {
         User seller = getUserFromAuthentication(authentication);
         
-        // Find category or default to "others" if not found
-        Category category = categoryRepository.findById(request.getCategoryId())
-                .orElse(categoryRepository.findById("others")
-                        .orElseThrow(() -> new RuntimeException("Default 'others' category not found. Please run category initialization.")));
+        // Find category or default to "others" if not found; resolved from the in-memory tree,
+        // the reference only supplies the foreign key
+        Category category = categoryRepository.getReferenceById(
+                categoryService.tree().resolveOrFallback(request.getCategoryId()).id());
 
         Product product = Product.builder()
                 .title(request.getTitle())
@@ -56,7 +87,6 @@ public class ProductService {
                 .model(request.getModel())
                 .category(category)
                 .seller(seller) // ✅ SELLER ID IS PROPERLY ATTACHED HERE
-                .tags(request.getTags() != null ? String.join(",", request.getTags()) : null)
                 .pickupLocation(request.getPickupLocation())
                 .deliveryAvailable(request.isDeliveryAvailable())
                 .status(ProductStatus.PENDING) // All products start as PENDING for admin approval
@@ -66,29 +96,25 @@ public class ProductService {
                 .createdAt(Instant.now())
                 .updatedAt(Instant.now())
                 .build();
+        tagService.applyTags(product, request.getTags());
 
         product = productRepository.save(product);
 
         // Save images
         if (request.getImageUrls() != null && !request.getImageUrls().isEmpty()) {
+            List<ProductImage> images = new ArrayList<>();
             for (int i = 0; i < request.getImageUrls().size(); i++) {
-                ProductImage image = ProductImage.builder()
-                        .product(product)
-                        .imageUrl(request.getImageUrls().get(i))
-                        .isPrimary(i == 0) // First image is primary
-                        .sortOrder(i)
-                        .createdAt(Instant.now())
-                        .build();
-                productImageRepository.save(image);
+                images.add(newImage(product, request.getImageUrls().get(i), i));
             }
+            productImageRepository.saveAll(images);
         }
 
         // Update seller stats
-        seller.setTotalListings(seller.getTotalListings() + 1);
-        seller.setActiveListings(seller.getActiveListings() + 1);
-        userRepository.save(seller);
+        counterService.listingCreated(seller.getId());
+
+        eventPublisher.publishEvent(ProductChangedEvent.created(product));
 
-        return convertToProductResponse(product);
+        return productMapper.toResponse(product);
     }
 
     public PagedResponse<ProductResponse> getAllProducts(int page, int size, String sortBy) {
@@ -107,50 +133,22 @@ public class ProductService {
         Sort sort = createSort(sortBy);
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        // Get all approved products first
-        Page<Product> productPage = productRepository.findByStatusOrderByCreatedAtDesc(
-                ProductStatus.APPROVED, pageable);
-        
-        // Apply filters in memory (for simplicity - could be optimized with a dynamic query)
-        List<Product> filteredProducts = productPage.getContent().stream()
-                .filter(p -> categoryId == null || p.getCategory().getId().equals(categoryId))
-                .filter(p -> condition == null || p.getCondition().name().equalsIgnoreCase(condition))
-                .filter(p -> minPrice == null || p.getPrice().compareTo(minPrice) >= 0)
-                .filter(p -> maxPrice == null || p.getPrice().compareTo(maxPrice) <= 0)
-                .filter(p -> sellerId == null || p.getSeller().getId().equals(sellerId))
-                .filter(p -> featured == null || p.getIsFeatured().equals(featured))
-                .filter(p -> hasDiscount == null || !hasDiscount || 
-                        (p.getOriginalPrice() != null && p.getOriginalPrice().compareTo(p.getPrice()) > 0))
-                .collect(Collectors.toList());
-        
-        List<ProductResponse> content = filteredProducts.stream()
-                .map(this::convertToProductResponse)
-                .collect(Collectors.toList());
+        // Every filter is part of the WHERE clause so paging and totals are computed by the database
+        Specification<Product> filters = ProductSpecifications.browse(
+                ProductStatus.APPROVED, categoryId, condition, minPrice, maxPrice, sellerId, featured, hasDiscount);
+        Page<Product> productPage = productRepository.findAll(filters, pageable);
         
-        return new PagedResponse<>(
-                content,
-                productPage.getNumber(),
-                productPage.getSize(),
-                filteredProducts.size(),
-                (int) Math.ceil((double) filteredProducts.size() / size),
-                productPage.isFirst(),
-                filteredProducts.size() <= size,
-                false, page > 0
-        );
+        return productMapper.toPagedResponse(productPage);
     }
 
     /**
      * Get products listed within the last N hours (for "Just Listed" section)
      */
-    public List<ProductResponse> getJustListedProducts(int limit, int hours) {
+    public List<ProductSummaryResponse> getJustListedProducts(int limit, int hours) {
         Instant since = Instant.now().minus(hours, ChronoUnit.HOURS);
         Pageable pageable = PageRequest.of(0, limit);
         
-        List<Product> products = productRepository.findJustListedProducts(since, pageable);
-        
-        return products.stream()
-                .map(this::convertToProductResponse)
-                .collect(Collectors.toList());
+        return productMapper.toSummaries(productRepository.findJustListedSummaries(since, pageable));
     }
 
     public PagedResponse<ProductResponse> getProductsByCategory(String categoryId, int page, int size, String sortBy) {
@@ -161,55 +159,268 @@ public class ProductService {
         Page<Product> productPage = productRepository.findByCategoryIdAndStatusOrderByCreatedAtDesc(
                 categoryId, ProductStatus.APPROVED, pageable);
         
-        return convertToPagedResponse(productPage);
+        return productMapper.toPagedResponse(productPage);
+    }
+
+    /**
+     * Approved products carrying the tag; resolved through the tag bitmaps or the product_tags join.
+     */
+    public PagedResponse<ProductResponse> getProductsByTag(String tag, int page, int size, String sortBy) {
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setTags(List.of(tag));
+        request.setPage(page);
+        request.setSize(size);
+        request.setSortBy(sortBy);
+        return searchProducts(request);
     }
 
     public PagedResponse<ProductResponse> searchProducts(ProductSearchRequest request) {
         int page = request.getPage() != null ? request.getPage() : 0;
         int size = request.getSize() != null ? request.getSize() : 20;
+        
+        // Keyword and filter queries are served from the in-memory index once it has been built,
+        // with repeated result pages answered from the cache
+        if (productSearchEngine.isReady()) {
+            SearchCacheKey key = SearchCacheKey.of(request, hitSortName(request), page, size);
+            PagedResponse<ProductResponse> cached = searchResultCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            long generation = searchResultCache.generation();
+            PagedResponse<ProductResponse> result = searchIndex(request, page, size);
+            searchResultCache.put(key, result, generation);
+            return result;
+        }
+        
         String sortBy = request.getSortBy() != null ? request.getSortBy() : "date_desc";
+        Pageable pageable = PageRequest.of(page, size, createSort(sortBy));
         
-        Sort sort = createSort(sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
+        // ✅ ONLY SEARCH APPROVED PRODUCTS (NOT SOLD ONES)
+        Page<Product> productPage = productRepository.findAll(searchSpecification(request), pageable);
         
-        Page<Product> productPage;
-        
-        if (request.getKeyword() != null && !request.getKeyword().trim().isEmpty()) {
-            // ✅ ONLY SEARCH APPROVED PRODUCTS (NOT SOLD ONES)
-            productPage = productRepository.searchByKeyword(
-                    request.getKeyword().trim(), ProductStatus.APPROVED, pageable);
-        } else {
-            // ✅ ONLY FILTER APPROVED PRODUCTS (NOT SOLD ONES)
-            productPage = productRepository.findWithFilters(
-                    ProductStatus.APPROVED,
-                    request.getCategoryId(),
-                    request.getMinPrice(),
-                    request.getMaxPrice(),
-                    request.getConditions() != null && !request.getConditions().isEmpty() 
-                        ? request.getConditions().get(0).name() : null,
-                    pageable
-            );
+        return productMapper.toPagedResponse(productPage);
+    }
+
+    /**
+     * Search against the in-memory index. Filters are resolved as attribute bitmap intersections
+     * before paging, so totals are exact and only one page of entities is loaded.
+     */
+    private PagedResponse<ProductResponse> searchIndex(ProductSearchRequest request, int page, int size) {
+        List<ScoredDocument> hits = rankedHits(request);
+        
+        int totalPages = (int) Math.ceil((double) hits.size() / size);
+        int from = Math.min(page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<String> pageIds = hits.subList(from, to).stream()
+                .map(hit -> hit.document().id())
+                .toList();
+        
+        return new PagedResponse<>(
+                loadProductsInOrder(pageIds),
+                page, size,
+                hits.size(),
+                totalPages,
+                page == 0,
+                page >= totalPages - 1,
+                page + 1 < totalPages,
+                page > 0
+        );
+    }
+
+    /**
+     * Typeahead completions from the in-memory suggestion trie. Returns nothing until the index is
+     * built rather than falling back to a LIKE query on every keystroke.
+     */
+    public List<String> suggestProducts(String query, int limit) {
+        if (!productSearchEngine.isReady() || query == null || query.isBlank()) {
+            return List.of();
+        }
+        return productSearchEngine.suggest(query, Math.min(Math.max(limit, 1), 20));
+    }
+
+    /**
+     * Search results plus the browse page facet counts for the same request.
+     */
+    public FacetedSearchResponse searchProductsWithFacets(ProductSearchRequest request) {
+        PagedResponse<ProductResponse> results = searchProducts(request);
+        return new FacetedSearchResponse(results, getProductFacets(request));
+    }
+
+    /**
+     * Facet counts computed from the attribute bitsets of the search index in one pass.
+     * Before the first index build the counts are returned empty rather than hitting the database.
+     */
+    public ProductFacetsResponse getProductFacets(ProductSearchRequest request) {
+        if (!productSearchEngine.isReady()) {
+            return ProductFacetsResponse.builder()
+                    .totalMatches(0)
+                    .categories(List.of())
+                    .conditions(List.of())
+                    .priceRanges(List.of())
+                    .verifiedStudentSellers(0)
+                    .build();
+        }
+        
+        FacetCounts counts = productSearchEngine.facets(
+                request.getKeyword(), toSearchFilter(request), Boolean.TRUE.equals(request.getFuzzy()));
+        
+        CategoryTree categoryTree = categoryService.tree();
+        List<FacetCount> categories = counts.categories().entrySet().stream()
+                .map(entry -> new FacetCount(entry.getKey(),
+                        Objects.requireNonNullElse(categoryTree.nameOf(entry.getKey()), entry.getKey()), entry.getValue()))
+                .sorted(Comparator.comparingLong(FacetCount::getCount).reversed())
+                .toList();
+        
+        List<FacetCount> conditions = counts.conditions().entrySet().stream()
+                .map(entry -> new FacetCount(entry.getKey().name(), entry.getKey().getDisplayName(), entry.getValue()))
+                .toList();
+        
+        List<PriceRangeFacet> priceRanges = new ArrayList<>();
+        for (int bucket = 0; bucket < counts.priceBuckets().length; bucket++) {
+            priceRanges.add(new PriceRangeFacet(
+                    PriceBuckets.lowerBound(bucket), PriceBuckets.upperBound(bucket), counts.priceBuckets()[bucket]));
+        }
+        
+        return ProductFacetsResponse.builder()
+                .totalMatches(counts.totalMatches())
+                .categories(categories)
+                .conditions(conditions)
+                .priceRanges(priceRanges)
+                .verifiedStudentSellers(counts.verifiedStudentSellers())
+                .build();
+    }
+
+    private static SearchFilter toSearchFilter(ProductSearchRequest request) {
+        return new SearchFilter(
+                request.getCategoryId(),
+                request.getConditions() != null ? Set.copyOf(request.getConditions()) : null,
+                Set.copyOf(TagService.normalize(request.getTags())),
+                request.getMinPrice(),
+                request.getMaxPrice(),
+                null,
+                request.getDeliveryAvailable(),
+                request.getIsNegotiable(),
+                Boolean.TRUE.equals(request.getVerifiedStudentsOnly()));
+    }
+
+    /**
+     * Keyset variant of {@link #searchProducts}: no total count, {@code request.cursor} marks the position.
+     */
+    public CursorPagedResponse<ProductResponse> searchProductsByCursor(ProductSearchRequest request) {
+        int size = request.getSize() != null ? request.getSize() : 20;
+        
+        if (!productSearchEngine.isReady()) {
+            return findByCursor(searchSpecification(request), request.getSortBy(), request.getCursor(), size);
+        }
+        
+        String sortName = hitSortName(request);
+        ProductCursor cursor = ProductCursor.decode(request.getCursor());
+        if (cursor != null && !cursor.sortBy().equals(sortName)) {
+            throw new RuntimeException("Cursor does not match the requested sort order");
         }
         
-        // Filter by verified students if requested
-        if (request.getVerifiedStudentsOnly() != null && request.getVerifiedStudentsOnly()) {
-            List<ProductResponse> filteredContent = convertToPagedResponse(productPage).getContent()
-                    .stream()
-                    .filter(ProductResponse::isSellerIsVerifiedStudent)
-                    .collect(Collectors.toList());
-            
-            return new PagedResponse<>(
-                    filteredContent,
-                    page, size,
-                    filteredContent.size(),
-                    (int) Math.ceil((double) filteredContent.size() / size),
-                    page == 0,
-                    filteredContent.size() <= size,
-                    false, page > 0
-            );
+        List<ScoredDocument> hits = rankedHits(request);
+        int from = 0;
+        if (cursor != null) {
+            while (from < hits.size() && !isAfterCursor(hits.get(from), cursor)) {
+                from++;
+            }
+        }
+        int to = Math.min(from + size, hits.size());
+        boolean hasNext = to < hits.size();
+        
+        List<String> pageIds = hits.subList(from, to).stream()
+                .map(hit -> hit.document().id())
+                .toList();
+        String nextCursor = null;
+        if (hasNext) {
+            ScoredDocument last = hits.get(to - 1);
+            nextCursor = new ProductCursor(sortName, String.valueOf(hitSortKey(last, sortName)), last.document().id()).encode();
         }
         
-        return convertToPagedResponse(productPage);
+        return new CursorPagedResponse<>(loadProductsInOrder(pageIds), size, hasNext, nextCursor);
+    }
+
+    private List<ScoredDocument> rankedHits(ProductSearchRequest request) {
+        SearchFilter filter = toSearchFilter(request);
+        Stream<ScoredDocument> hits = hasKeyword(request)
+                ? productSearchEngine.search(request.getKeyword().trim(), filter, Boolean.TRUE.equals(request.getFuzzy())).stream()
+                : productSearchEngine.filter(filter).stream().map(document -> new ScoredDocument(document, 0f));
+        return hits.sorted(createHitComparator(hitSortName(request))).toList();
+    }
+
+    private static boolean hasKeyword(ProductSearchRequest request) {
+        return request.getKeyword() != null && !request.getKeyword().trim().isEmpty();
+    }
+
+    private Specification<Product> searchSpecification(ProductSearchRequest request) {
+        return Specification.allOf(Stream.of(
+                        ProductSpecifications.hasStatus(ProductStatus.APPROVED),
+                        ProductSpecifications.matchesKeyword(request.getKeyword()),
+                        ProductSpecifications.inCategory(request.getCategoryId()),
+                        ProductSpecifications.priceAtLeast(request.getMinPrice()),
+                        ProductSpecifications.priceAtMost(request.getMaxPrice()),
+                        ProductSpecifications.hasConditionIn(request.getConditions()),
+                        ProductSpecifications.hasAnyTag(TagService.normalize(request.getTags())),
+                        ProductSpecifications.offersDelivery(request.getDeliveryAvailable()),
+                        ProductSpecifications.isNegotiable(request.getIsNegotiable()),
+                        ProductSpecifications.soldByVerifiedStudent(request.getVerifiedStudentsOnly()))
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    // Index hits are ordered by a single sort key with the product id as tie-breaker,
+    // which keeps offset and cursor paging over the same hit list consistent
+    // Relevance only means something for keyword queries; plain filtering defaults to newest first
+    private static String hitSortName(ProductSearchRequest request) {
+        String fallback = hasKeyword(request) ? "relevance" : "date_desc";
+        String sortBy = request.getSortBy();
+        if (sortBy == null) return fallback;
+        return switch (sortBy) {
+            case "price_asc", "price_desc", "date_asc", "date_desc", "popularity" -> sortBy;
+            default -> fallback;
+        };
+    }
+
+    private Comparable<?> hitSortKey(ScoredDocument hit, String sortName) {
+        return switch (sortName) {
+            case "price_asc", "price_desc" -> hit.document().price();
+            case "date_asc", "date_desc" -> hit.document().createdAt();
+            case "popularity" -> uniqueViewerService.weeklyUniqueViewers(hit.document().id());
+            default -> hit.score();
+        };
+    }
+
+    private static boolean isAscendingHitSort(String sortName) {
+        return sortName.equals("price_asc") || sortName.equals("date_asc");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<ScoredDocument> createHitComparator(String sortName) {
+        Comparator<ScoredDocument> ascending = (left, right) -> {
+            int comparison = ((Comparable) hitSortKey(left, sortName)).compareTo(hitSortKey(right, sortName));
+            return comparison != 0 ? comparison : left.document().id().compareTo(right.document().id());
+        };
+        return isAscendingHitSort(sortName) ? ascending : ascending.reversed();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private boolean isAfterCursor(ScoredDocument hit, ProductCursor cursor) {
+        Comparable key = (Comparable) hitSortKey(hit, cursor.sortBy());
+        int comparison = key.compareTo(cursor.sortKey());
+        if (comparison == 0) {
+            comparison = hit.document().id().compareTo(cursor.id());
+        }
+        return isAscendingHitSort(cursor.sortBy()) ? comparison > 0 : comparison < 0;
+    }
+
+    private List<ProductResponse> loadProductsInOrder(List<String> productIds) {
+        Map<String, Product> productsById = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return productMapper.toResponses(productIds.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
 
     public PagedResponse<ProductResponse> getFeaturedProducts(int page, int size) {
@@ -218,10 +429,11 @@ public class ProductService {
         Page<Product> productPage = productRepository.findByStatusAndIsFeaturedTrueOrderByCreatedAtDesc(
                 ProductStatus.APPROVED, pageable);
         
-        return convertToPagedResponse(productPage);
+        return productMapper.toPagedResponse(productPage);
     }
 
-    public ProductResponse getProductById(String productId) {
+    @Transactional(readOnly = true)
+    public ProductResponse getProductById(String productId, String viewerKey) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         
@@ -230,13 +442,12 @@ public class ProductService {
             throw new RuntimeException("Product not available");
         }
         
-        // Increment view count only for approved products
+        // Count the view only for approved products; ViewCountBuffer writes it behind in batches
         if (product.getStatus() == ProductStatus.APPROVED) {
-            product.setViewCount(product.getViewCount() + 1);
-            productRepository.save(product);
+            eventPublisher.publishEvent(ProductEngagementEvent.viewed(productId, viewerKey));
         }
         
-        return convertToProductResponse(product);
+        return productMapper.toResponse(product);
     }
 
     public PagedResponse<ProductResponse> getUserProducts(Authentication authentication, int page, int size) {
@@ -247,7 +458,7 @@ public class ProductService {
         Page<Product> productPage = productRepository.findBySellerIdOrderByCreatedAtDesc(
                 user.getId(), pageable);
         
-        return convertToPagedResponse(productPage);
+        return productMapper.toPagedResponse(productPage);
     }
 
     public PagedResponse<ProductResponse> getProductsBySeller(String sellerId, int page, int size) {
@@ -257,7 +468,68 @@ public class ProductService {
         Page<Product> productPage = productRepository.findBySellerIdAndStatusOrderByCreatedAtDesc(
                 sellerId, ProductStatus.APPROVED, pageable);
         
-        return convertToPagedResponse(productPage);
+        return productMapper.toPagedResponse(productPage);
+    }
+
+    // Keyset (cursor) listings: one LIMIT size+1 query per page and no COUNT(*)
+
+    public CursorPagedResponse<ProductResponse> getAllProductsByCursor(
+            String cursor, int size, String sortBy,
+            String categoryId, String condition,
+            java.math.BigDecimal minPrice, java.math.BigDecimal maxPrice,
+            String sellerId, Boolean featured, Boolean hasDiscount) {
+        return findByCursor(ProductSpecifications.browse(
+                ProductStatus.APPROVED, categoryId, condition, minPrice, maxPrice, sellerId, featured, hasDiscount),
+                sortBy, cursor, size);
+    }
+
+    public CursorPagedResponse<ProductResponse> getRecentProductsByCursor(String cursor, int size) {
+        return findByCursor(ProductSpecifications.hasStatus(ProductStatus.APPROVED), "date_desc", cursor, size);
+    }
+
+    public CursorPagedResponse<ProductResponse> getProductsByCategoryByCursor(String categoryId, String cursor, int size, String sortBy) {
+        return findByCursor(ProductSpecifications.hasStatus(ProductStatus.APPROVED)
+                .and(ProductSpecifications.inCategory(categoryId)), sortBy, cursor, size);
+    }
+
+    public CursorPagedResponse<ProductResponse> getProductsBySellerByCursor(String sellerId, String cursor, int size) {
+        return findByCursor(ProductSpecifications.hasStatus(ProductStatus.APPROVED)
+                .and(ProductSpecifications.soldBy(sellerId)), "date_desc", cursor, size);
+    }
+
+    public CursorPagedResponse<ProductResponse> getFeaturedProductsByCursor(String cursor, int size) {
+        return findByCursor(ProductSpecifications.hasStatus(ProductStatus.APPROVED)
+                .and(ProductSpecifications.isFeatured(true)), "date_desc", cursor, size);
+    }
+
+    private CursorPagedResponse<ProductResponse> findByCursor(
+            Specification<Product> filters, String sortBy, String cursorToken, int size) {
+        String sortName = ProductSpecifications.keysetSortName(sortBy);
+        ProductCursor cursor = ProductCursor.decode(cursorToken);
+        
+        Specification<Product> spec = filters;
+        if (cursor != null) {
+            if (!cursor.sortBy().equals(sortName)) {
+                throw new RuntimeException("Cursor does not match the requested sort order");
+            }
+            spec = spec.and(ProductSpecifications.after(cursor));
+        }
+        
+        // Fetch one extra row to learn whether another page exists
+        List<Product> rows = productRepository.findBy(spec, query -> query
+                .sortBy(ProductSpecifications.keysetSort(sortName))
+                .project("seller", "category")
+                .limit(size + 1)
+                .all());
+        
+        boolean hasNext = rows.size() > size;
+        List<Product> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext
+                ? ProductSpecifications.cursorFor(pageRows.get(pageRows.size() - 1), sortName).encode()
+                : null;
+        
+        List<ProductResponse> content = productMapper.toResponses(pageRows);
+        return new CursorPagedResponse<>(content, size, hasNext, nextCursor);
     }
 
     @Transactional
@@ -273,6 +545,8 @@ public class ProductService {
         if (product.getStatus() == ProductStatus.SOLD) {
             throw new RuntimeException("Cannot update sold products");
         }
+        
+        ProductDocument previous = ProductDocument.from(product);
 
         // Update fields
         if (request.getTitle() != null) product.setTitle(request.getTitle());
@@ -287,36 +561,27 @@ public class ProductService {
         if (request.getDeliveryAvailable() != null) product.setDeliveryAvailable(request.getDeliveryAvailable());
         
         if (request.getCategoryId() != null) {
-            Category category = categoryRepository.findById(request.getCategoryId())
-                    .orElse(categoryRepository.findById("others")
-                            .orElseThrow(() -> new RuntimeException("Default 'others' category not found")));
+            Category category = categoryRepository.getReferenceById(
+                    categoryService.tree().resolveOrFallback(request.getCategoryId()).id());
             product.setCategory(category);
         }
         
         if (request.getTags() != null) {
-            product.setTags(String.join(",", request.getTags()));
+            tagService.applyTags(product, request.getTags());
         }
         
         // Update images if provided
         if (request.getImageUrls() != null) {
-            productImageRepository.deleteByProductId(productId);
-            for (int i = 0; i < request.getImageUrls().size(); i++) {
-                ProductImage image = ProductImage.builder()
-                        .product(product)
-                        .imageUrl(request.getImageUrls().get(i))
-                        .isPrimary(i == 0)
-                        .sortOrder(i)
-                        .createdAt(Instant.now())
-                        .build();
-                productImageRepository.save(image);
-            }
+            syncImages(product, request.getImageUrls());
         }
         
         product.setUpdatedAt(Instant.now());
         product.setStatus(ProductStatus.PENDING); // Re-submit for approval
         product = productRepository.save(product);
         
-        return convertToProductResponse(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previous, product));
+        
+        return productMapper.toResponse(product);
     }
 
     @Transactional
@@ -333,16 +598,17 @@ public class ProductService {
             throw new RuntimeException("Cannot delete sold products");
         }
         
+        ProductDocument previous = ProductDocument.from(product);
+        
         // Delete all product images from S3 and database
         deleteProductImages(product);
         
         // Hard delete the product from database
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.removed(previous));
         
         // Update seller stats
-        User seller = product.getSeller();
-        seller.setActiveListings(Math.max(0, seller.getActiveListings() - 1));
-        userRepository.save(seller);
+        counterService.listingClosed(product.getSeller().getId());
         
         log.info("Product {} deleted by user {}", productId, user.getEmail());
     }
@@ -390,12 +656,13 @@ public class ProductService {
                     log.error("Failed to send email notification for rejected product {}: {}", product.getId(), e.getMessage());
                 }
                 
+                ProductDocument previous = ProductDocument.from(product);
                 deleteProductImages(product);
                 productRepository.delete(product);
+                eventPublisher.publishEvent(ProductChangedEvent.removed(previous));
                 
                 // Update seller stats
-                seller.setActiveListings(Math.max(0, seller.getActiveListings() - 1));
-                userRepository.save(seller);
+                counterService.listingClosed(seller.getId());
                 
                 deletedCount++;
                 log.info("Auto-deleted rejected product: {} ({})", product.getId(), productTitle);
@@ -475,6 +742,52 @@ public class ProductService {
                 deletedCount, movedToReviewCount);
     }
     
+    /**
+     * Brings the product's image rows in line with the requested URLs: kept URLs are reused and only
+     * updated when their position changed, new URLs are inserted and dropped ones deleted in one statement.
+     */
+    private void syncImages(Product product, List<String> imageUrls) {
+        Map<String, Deque<ProductImage>> existingByUrl = new HashMap<>();
+        for (ProductImage image : productImageRepository.findByProductIdOrderBySortOrderAsc(product.getId())) {
+            existingByUrl.computeIfAbsent(image.getImageUrl(), url -> new ArrayDeque<>()).add(image);
+        }
+
+        List<ProductImage> added = new ArrayList<>();
+        for (int i = 0; i < imageUrls.size(); i++) {
+            Deque<ProductImage> matches = existingByUrl.get(imageUrls.get(i));
+            ProductImage kept = matches != null ? matches.poll() : null;
+            if (kept == null) {
+                added.add(newImage(product, imageUrls.get(i), i));
+                continue;
+            }
+            // Managed entity: dirty checking issues an UPDATE only if one of these actually changed
+            if (kept.getSortOrder() != i) {
+                kept.setSortOrder(i);
+            }
+            if (kept.getIsPrimary() != (i == 0)) {
+                kept.setIsPrimary(i == 0);
+            }
+        }
+
+        List<ProductImage> removed = existingByUrl.values().stream().flatMap(Deque::stream).toList();
+        if (!removed.isEmpty()) {
+            productImageRepository.deleteAllInBatch(removed);
+        }
+        if (!added.isEmpty()) {
+            productImageRepository.saveAll(added);
+        }
+    }
+
+    private static ProductImage newImage(Product product, String imageUrl, int position) {
+        return ProductImage.builder()
+                .product(product)
+                .imageUrl(imageUrl)
+                .isPrimary(position == 0) // First image is primary
+                .sortOrder(position)
+                .createdAt(Instant.now())
+                .build();
+    }
+
     /**
      * Helper method to delete all images associated with a product
      */
@@ -507,83 +820,11 @@ public class ProductService {
             case "price_desc" -> Sort.by("price").descending();
             case "date_asc" -> Sort.by("createdAt").ascending();
             case "date_desc" -> Sort.by("createdAt").descending();
-            case "popularity" -> Sort.by("viewCount").descending();
+            case "popularity" -> Sort.by("uniqueViewers").descending();
             default -> Sort.by("createdAt").descending();
         };
     }
 
-    private PagedResponse<ProductResponse> convertToPagedResponse(Page<Product> productPage) {
-        List<ProductResponse> content = productPage.getContent().stream()
-                .map(this::convertToProductResponse)
-                .collect(Collectors.toList());
-        
-        return new PagedResponse<>(
-                content,
-                productPage.getNumber(),
-                productPage.getSize(),
-                productPage.getTotalElements(),
-                productPage.getTotalPages(),
-                productPage.isFirst(),
-                productPage.isLast(),
-                productPage.hasNext(),
-                productPage.hasPrevious()
-        );
-    }
-
-    private ProductResponse convertToProductResponse(Product product) {
-        List<ProductImageResponse> images = product.getImages() != null 
-                ? product.getImages().stream()
-                    .map(img -> new ProductImageResponse(
-                            img.getId(),
-                            img.getImageUrl(),
-                            img.getAltText(),
-                            img.getIsPrimary(),
-                            img.getSortOrder()
-                    ))
-                    .collect(Collectors.toList())
-                : List.of();
-        
-        String primaryImageUrl = images.stream()
-                .filter(ProductImageResponse::isPrimary)
-                .findFirst()
-                .map(ProductImageResponse::getImageUrl)
-                .orElse(images.isEmpty() ? null : images.get(0).getImageUrl());
-        
-        List<String> tags = product.getTags() != null 
-                ? List.of(product.getTags().split(","))
-                : List.of();
-        
-        return new ProductResponse(
-                product.getId(),
-                product.getTitle(),
-                product.getDescription(),
-                product.getPrice(),
-                product.getOriginalPrice(),
-                product.getIsNegotiable(),
-                product.getCondition(),
-                product.getBrand(),
-                product.getModel(),
-                product.getStatus(),
-                product.getPickupLocation(),
-                product.getDeliveryAvailable(),
-                product.getViewCount(),
-                product.getFavoriteCount(),
-                product.getIsFeatured(),
-                tags,
-                product.getCreatedAt(),
-                product.getUpdatedAt(),
-                product.getSeller().getId(), // ✅ SELLER ID IS INCLUDED
-                product.getSeller().getName(),
-                product.getSeller().getSellerBadge().name(),
-                product.getSeller().getSellerRating(),
-                product.getSeller().isVerifiedStudent(),
-                product.getCategory().getId(),
-                product.getCategory().getName(),
-                images,
-                primaryImageUrl
-        );
-    }
-
     private User getUserFromAuthentication(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         return userRepository.findByEmail(userDetails.getUsername())
@@ -591,16 +832,10 @@ public class ProductService {
     }
 
     /**
-     * Get trending products based on views and favorites in the last 7 days
+     * Get trending products ranked by time-decayed views and favorites
      */
-    public PagedResponse<ProductResponse> getTrendingProducts(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Instant sevenDaysAgo = Instant.now().minus(7, ChronoUnit.DAYS);
-        
-        // Get products with high engagement (views + favorites) in the last week
-        Page<Product> productPage = productRepository.findTrendingProducts(sevenDaysAgo, pageable);
-        
-        return convertToPagedResponse(productPage);
+    public PagedResponse<ProductSummaryResponse> getTrendingProducts(int page, int size) {
+        return trendingService.getTrendingProducts(page, size);
     }
 
     /**
@@ -612,115 +847,37 @@ public class ProductService {
         Page<Product> productPage = productRepository.findByStatusOrderByCreatedAtDesc(
                 ProductStatus.APPROVED, pageable);
         
-        return convertToPagedResponse(productPage);
+        return productMapper.toPagedResponse(productPage);
     }
 
     /**
      * Get deals of the day - products with significant discounts
      */
-    public PagedResponse<ProductResponse> getDealsOfTheDay(int page, int size) {
+    public PagedResponse<ProductSummaryResponse> getDealsOfTheDay(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         
         // Get products where discount is >= 20%
-        Page<Product> productPage = productRepository.findDealsOfTheDay(pageable);
+        Page<ProductSummaryView> productPage = productRepository.findDealSummaries(pageable);
         
-        return convertToPagedResponse(productPage);
+        return productMapper.toPagedSummaries(productPage);
     }
 
     /**
      * Get top-rated products based on seller rating and product favorites
      */
-    public PagedResponse<ProductResponse> getTopRatedProducts(int page, int size) {
+    public PagedResponse<ProductSummaryResponse> getTopRatedProducts(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         
         // Get products from top-rated sellers (rating >= 4.0) with most favorites
-        Page<Product> productPage = productRepository.findTopRatedProducts(pageable);
+        Page<ProductSummaryView> productPage = productRepository.findTopRatedSummaries(pageable);
         
-        return convertToPagedResponse(productPage);
-    }
-
-    /**
-     * Get product previews grouped by category for homepage
-     */
-    public List<CategoryProductPreview> getProductsByCategoryPreview(int productsPerCategory) {
-        // Get all active categories (not just main categories) to ensure we show products
-        List<Category> categories = categoryRepository.findByIsActiveTrueOrderBySortOrderAsc();
-        
-        return categories.stream()
-                .map(category -> {
-                    Pageable pageable = PageRequest.of(0, productsPerCategory, Sort.by("createdAt").descending());
-                    Page<Product> products = productRepository.findByCategoryAndStatus(
-                            category, ProductStatus.APPROVED, pageable);
-                    
-                    long totalProducts = productRepository.countByCategoryAndStatus(category, ProductStatus.APPROVED);
-                    
-                    return CategoryProductPreview.builder()
-                            .categoryId(category.getId())
-                            .categoryName(category.getName())
-                            .categoryIcon(category.getIconUrl())
-                            .categoryImage(category.getIconUrl()) // Using iconUrl for both
-                            .totalProducts((int) totalProducts)
-                            .products(products.getContent().stream()
-                                    .map(this::convertToProductResponse)
-                                    .collect(Collectors.toList()))
-                            .build();
-                })
-                .filter(preview -> !preview.getProducts().isEmpty()) // Only include categories with products
-                .collect(Collectors.toList());
+        return productMapper.toPagedSummaries(productPage);
     }
 
     /**
      * Get homepage statistics for banner/hero section
      */
     public HomepageStatsResponse getHomepageStats() {
-        long totalProducts = productRepository.count();
-        long totalActiveProducts = productRepository.countByStatus(ProductStatus.APPROVED);
-        long totalUsers = userRepository.countByDeletedFalseAndEnabledTrue();
-        long totalVerifiedStudents = userRepository.countByIsVerifiedStudentTrue();
-        // Count sellers by querying products grouped by seller
-        long totalSellers = productRepository.findAll().stream()
-                .map(Product::getSeller)
-                .distinct()
-                .count();
-        long totalCategories = categoryRepository.count();
-        
-        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
-        Instant weekAgo = today.minus(7, ChronoUnit.DAYS);
-        
-        long productsAddedToday = productRepository.countByCreatedAtAfter(today);
-        long productsAddedThisWeek = productRepository.countByCreatedAtAfter(weekAgo);
-        
-        // Get most popular category
-        List<Object[]> categoryStats = productRepository.findMostPopularCategory();
-        String mostPopularCategory = "Electronics"; // Default
-        long mostPopularCategoryCount = 0;
-        
-        if (!categoryStats.isEmpty()) {
-            Object[] stat = categoryStats.get(0);
-            mostPopularCategory = (String) stat[0];
-            mostPopularCategoryCount = ((Number) stat[1]).longValue();
-        }
-        
-        // Calculate average savings percent
-        Double avgSavings = productRepository.calculateAverageDiscountPercent();
-        int avgSavingsPercent = avgSavings != null ? avgSavings.intValue() : 0;
-        
-        // Count successful sales (products with SOLD status)
-        long successfulSales = productRepository.countByStatus(ProductStatus.SOLD);
-        
-        return HomepageStatsResponse.builder()
-                .totalProducts(totalProducts)
-                .totalActiveProducts(totalActiveProducts)
-                .totalUsers(totalUsers)
-                .totalVerifiedStudents(totalVerifiedStudents)
-                .totalSellers(totalSellers)
-                .totalCategories(totalCategories)
-                .productsAddedToday(productsAddedToday)
-                .productsAddedThisWeek(productsAddedThisWeek)
-                .mostPopularCategory(mostPopularCategory)
-                .mostPopularCategoryCount(mostPopularCategoryCount)
-                .avgSavingsPercent(avgSavingsPercent)
-                .successfulSales(successfulSales)
-                .build();
+        return catalogStatisticsService.getHomepageStats();
     }
 }
@@ -7,6 +7,7 @@ import com.dealharbor.dealharbor_backend.enums.ReviewType;
 import com.dealharbor.dealharbor_backend.enums.NotificationType;
 import com.dealharbor.dealharbor_backend.repositories.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +30,7 @@ public class ReviewService {
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public ProductReviewResponse createProductReview(ProductReviewRequest request, Authentication authentication) {
@@ -201,6 +203,8 @@ public class ReviewService {
         
         if (reviewType == ReviewType.SELLER_REVIEW) {
             user.setSellerRating(averageRating != null ? averageRating : BigDecimal.ZERO);
+            productRepository.updateSellerRating(user.getId(), user.getSellerRating());
+            eventPublisher.publishEvent(new SellerStatsChangedEvent(user.getId()));
             // Update positive/negative review counts based on rating
             if (averageRating != null && averageRating.compareTo(BigDecimal.valueOf(3.5)) >= 0) {
                 user.setPositiveReviews(user.getPositiveReviews() + 1);
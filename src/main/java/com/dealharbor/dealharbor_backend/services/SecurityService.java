@@ -18,25 +18,34 @@ public class SecurityService {
     private final SecurityEventRepository securityEventRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final OptimisticRetry optimisticRetry;
 
     private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final int LOCKOUT_DURATION_MINUTES = 30;
 
-    @Transactional
     public void recordLoginAttempt(String email, String ipAddress, String userAgent, boolean successful) {
-        LoginAttempt attempt = LoginAttempt.builder()
-                .email(email)
-                .ipAddress(ipAddress)
-                .userAgent(userAgent)
-                .successful(successful)
-                .attemptTime(Instant.now())
-                .build();
-        loginAttemptRepository.save(attempt);
-
-        if (!successful) {
-            handleFailedLogin(email);
-        } else {
+        // Parallel failed logins race on failedLoginAttempts; the replay re-reads the count instead of losing an increment
+        boolean lockedNow = optimisticRetry.execute("user.loginAttempt", () -> {
+            LoginAttempt attempt = LoginAttempt.builder()
+                    .email(email)
+                    .ipAddress(ipAddress)
+                    .userAgent(userAgent)
+                    .successful(successful)
+                    .attemptTime(Instant.now())
+                    .build();
+            loginAttemptRepository.save(attempt);
+
+            if (!successful) {
+                return handleFailedLogin(email);
+            }
             handleSuccessfulLogin(email, ipAddress);
+            return false;
+        });
+
+        if (lockedNow) {
+            // Send security alert email
+            emailService.sendSecurityAlert(email, "Account Locked",
+                "Your account has been temporarily locked due to multiple failed login attempts.");
         }
     }
 
@@ -121,22 +130,22 @@ public class SecurityService {
         userSessionRepository.deactivateAllUserSessions(userId);
     }
 
-    private void handleFailedLogin(String email) {
+    // True when this attempt (re)locks the account
+    private boolean handleFailedLogin(String email) {
         User user = userRepository.findByEmail(email).orElse(null);
-        if (user == null) return;
+        if (user == null) return false;
 
         user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
 
+        boolean lockedNow = false;
         if (user.getFailedLoginAttempts() >= MAX_FAILED_ATTEMPTS) {
+            lockedNow = true;
             user.setLocked(true);
             user.setLockedUntil(Instant.now().plusSeconds(LOCKOUT_DURATION_MINUTES * 60));
-            
-            // Send security alert email
-            emailService.sendSecurityAlert(user.getEmail(), "Account Locked", 
-                "Your account has been temporarily locked due to multiple failed login attempts.");
         }
 
         userRepository.save(user);
+        return lockedNow;
     }
 
     private void handleSuccessfulLogin(String email, String ipAddress) {
@@ -0,0 +1,171 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.TopSellerResponse;
+import com.dealharbor.dealharbor_backend.entities.User;
+import com.dealharbor.dealharbor_backend.repositories.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Seller leaderboard kept sorted in memory by rating, then sales. Top-K reads walk the head of a
+ * skip list, so they cost O(K) and touch no tables; verified students have a skip list of their own
+ * so the verified-only board is O(K) too. A seller's entry is replaced when their rating
+ * or sales change, and the whole board is rebuilt periodically to pick up bans and deletions.
+ * Also backfills the seller rating denormalized onto products, which orders the top-rated products.
+ */
+@Service
+@RequiredArgsConstructor
+@Order(6)
+@Slf4j
+public class SellerLeaderboardService implements CommandLineRunner {
+
+    private record Entry(String id, String name, String profilePhotoUrl, BigDecimal rating, int reviewCount,
+                         int totalSales, boolean verified, String badge, Instant joinedAt) {
+    }
+
+    private static final Comparator<Entry> RANKING = Comparator.comparing(Entry::rating).reversed()
+            .thenComparing(Comparator.comparingInt(Entry::totalSales).reversed())
+            .thenComparing(Entry::id);
+
+    private static final String BACKFILL_SQL =
+            "UPDATE products SET seller_rating = " +
+            "(SELECT COALESCE(u.seller_rating, 0) FROM users u WHERE u.id = products.seller_id) " +
+            "WHERE seller_rating IS NULL";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private record Board(NavigableSet<Entry> ranked, NavigableSet<Entry> verified, Map<String, Entry> byId) {
+
+        Board() {
+            this(new ConcurrentSkipListSet<>(RANKING), new ConcurrentSkipListSet<>(RANKING), new ConcurrentHashMap<>());
+        }
+
+        void add(Entry entry) {
+            ranked.add(entry);
+            if (entry.verified()) {
+                verified.add(entry);
+            }
+            byId.put(entry.id(), entry);
+        }
+
+        void remove(String id) {
+            Entry entry = byId.remove(id);
+            if (entry != null) {
+                ranked.remove(entry);
+                verified.remove(entry);
+            }
+        }
+    }
+
+    private volatile Board board = new Board();
+
+    @Override
+    public void run(String... args) {
+        try {
+            int updated = jdbcTemplate.update(BACKFILL_SQL);
+            if (updated > 0) {
+                log.info("Backfilled seller rating for {} products", updated);
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to backfill product seller ratings: {}", e.getMessage(), e);
+        }
+
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Retried by the scheduled rebuild
+            log.error("Failed to load seller leaderboard: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT10M", initialDelayString = "PT10M")
+    public synchronized void rebuild() {
+        Board rebuilt = new Board();
+        for (User seller : userRepository.findActiveSellers()) {
+            rebuilt.add(toEntry(seller));
+        }
+        board = rebuilt;
+        log.debug("Seller leaderboard rebuilt with {} sellers", rebuilt.byId().size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSellerStatsChanged(SellerStatsChangedEvent event) {
+        Board current = board;
+        current.remove(event.sellerId());
+        userRepository.findById(event.sellerId())
+                .filter(SellerLeaderboardService::isListed)
+                .map(SellerLeaderboardService::toEntry)
+                .ifPresent(current::add);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSellerVerificationChanged(SellerVerificationChangedEvent event) {
+        onSellerStatsChanged(new SellerStatsChangedEvent(event.sellerId()));
+    }
+
+    /**
+     * Best sellers first; stops as soon as ratings drop below {@code minRating}.
+     */
+    public List<TopSellerResponse> top(int limit, BigDecimal minRating, boolean verifiedOnly) {
+        Board current = board;
+        List<TopSellerResponse> result = new ArrayList<>(limit);
+        for (Entry entry : verifiedOnly ? current.verified() : current.ranked()) {
+            if (result.size() >= limit || entry.rating().compareTo(minRating) < 0) {
+                break;
+            }
+            result.add(toResponse(entry));
+        }
+        return result;
+    }
+
+    // Same eligibility as UserRepository.findActiveSellers
+    private static boolean isListed(User user) {
+        return !user.isDeleted() && user.isEnabled() && !user.isBanned() && user.getTotalSales() > 0;
+    }
+
+    private static Entry toEntry(User user) {
+        return new Entry(
+                user.getId(),
+                user.getName(),
+                user.getProfilePhotoUrl(),
+                user.getSellerRating() != null ? user.getSellerRating() : BigDecimal.ZERO,
+                user.getPositiveReviews() + user.getNegativeReviews(),
+                user.getTotalSales(),
+                user.isVerifiedStudent(),
+                user.getSellerBadge() != null ? user.getSellerBadge().name() : "NEW_SELLER",
+                user.getCreatedAt()
+        );
+    }
+
+    private static TopSellerResponse toResponse(Entry entry) {
+        return TopSellerResponse.builder()
+                .id(entry.id())
+                .name(entry.name())
+                .profilePhotoUrl(entry.profilePhotoUrl())
+                .rating(entry.rating())
+                .reviewCount(entry.reviewCount())
+                .totalSales(entry.totalSales())
+                .isVerified(entry.verified())
+                .badge(entry.badge())
+                .joinedAt(entry.joinedAt())
+                .build();
+    }
+}
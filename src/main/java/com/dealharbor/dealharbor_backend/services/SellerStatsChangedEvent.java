@@ -0,0 +1,7 @@
+package com.dealharbor.dealharbor_backend.services;
+
+/**
+ * Published when a seller's rating or sales count changes.
+ */
+public record SellerStatsChangedEvent(String sellerId) {
+}
@@ -0,0 +1,7 @@
+package com.dealharbor.dealharbor_backend.services;
+
+/**
+ * Published when a seller's verified-student flag is granted or revoked.
+ */
+public record SellerVerificationChangedEvent(String sellerId) {
+}
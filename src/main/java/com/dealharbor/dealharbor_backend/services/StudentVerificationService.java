@@ -4,6 +4,7 @@ import com.dealharbor.dealharbor_backend.dto.*;
 import com.dealharbor.dealharbor_backend.entities.*;
 import com.dealharbor.dealharbor_backend.repositories.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,7 @@ public class StudentVerificationService {
     private final StudentOtpTokenRepository studentOtpTokenRepository;
     private final SecurityService securityService;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
     
     private static final List<String> VALID_DOMAINS = Arrays.asList(
         "@vitstudent.ac.in",
@@ -90,6 +92,7 @@ public class StudentVerificationService {
         }
         
         // Update user with student information
+        boolean wasVerified = user.isVerifiedStudent();
         user.setUniversityEmail(request.getStudentEmail());
         user.setUniversityId(request.getUniversityId());
         user.setGraduationYear(request.getGraduationYear());
@@ -98,6 +101,9 @@ public class StudentVerificationService {
         user.setUpdatedAt(Instant.now());
         
         userRepository.save(user);
+        if (!wasVerified) {
+            eventPublisher.publishEvent(new SellerVerificationChangedEvent(user.getId()));
+        }
         
         // Clean up OTP token
         studentOtpTokenRepository.deleteByUserId(user.getId());
@@ -120,6 +126,7 @@ public class StudentVerificationService {
             user.setUniversityEmail(user.getEmail());
             user.setVerifiedStudent(true);
             userRepository.save(user);
+            eventPublisher.publishEvent(new SellerVerificationChangedEvent(user.getId()));
             
             securityService.recordSecurityEvent(user.getId(), "AUTO_STUDENT_VERIFIED", 
                     "N/A", "N/A", "Student auto-verified during registration with email: " + user.getEmail());
@@ -0,0 +1,40 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+/**
+ * Copies legacy comma-joined product tags into the normalized tag tables on startup.
+ * Only products without links are touched, so after the first run this is a single empty query.
+ */
+@Service
+@RequiredArgsConstructor
+@Order(2)
+@Slf4j
+public class TagBackfillService implements CommandLineRunner {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final TagService tagService;
+
+    @Override
+    public void run(String... args) {
+        try {
+            int total = 0;
+            int processed;
+            do {
+                processed = tagService.backfillBatch(BATCH_SIZE);
+                total += processed;
+            } while (processed == BATCH_SIZE);
+            
+            if (total > 0) {
+                log.info("Backfilled tags for {} products", total);
+            }
+        } catch (Exception e) {
+            log.error("Failed to backfill product tags: {}", e.getMessage(), e);
+        }
+    }
+}
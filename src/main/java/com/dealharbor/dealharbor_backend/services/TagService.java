@@ -0,0 +1,91 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.Tag;
+import com.dealharbor.dealharbor_backend.entities.UuidV7Generator;
+import com.dealharbor.dealharbor_backend.repositories.ProductRepository;
+import com.dealharbor.dealharbor_backend.repositories.TagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Owns the tag dictionary and the product_tags links. The comma-joined Product.tags column is
+ * kept as a display copy and always rewritten from the normalized names.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TagService {
+
+    private final TagRepository tagRepository;
+    private final ProductRepository productRepository;
+
+    /**
+     * Distinct normalized tag names in input order, blanks dropped.
+     */
+    public static List<String> normalize(Collection<String> rawTags) {
+        if (rawTags == null) return List.of();
+        return rawTags.stream()
+                .map(Tag::normalizeName)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Replaces the product's tags, creating dictionary entries for names not seen before.
+     */
+    @Transactional
+    public void applyTags(Product product, Collection<String> rawTags) {
+        List<String> names = normalize(rawTags);
+        product.setTags(names.isEmpty() ? null : String.join(",", names));
+        product.setProductTags(resolve(names));
+    }
+
+    /**
+     * Links one batch of products that only have CSV tags. Returns how many products were processed.
+     */
+    @Transactional
+    public int backfillBatch(int batchSize) {
+        List<Product> products = productRepository.findWithUnlinkedTags(PageRequest.of(0, batchSize));
+        for (Product product : products) {
+            applyTags(product, Arrays.asList(product.getTags().split(",")));
+        }
+        productRepository.saveAll(products);
+        return products.size();
+    }
+
+    private Set<Tag> resolve(List<String> names) {
+        if (names.isEmpty()) return new HashSet<>();
+        
+        Map<String, Tag> byName = new HashMap<>();
+        tagRepository.findByNameIn(names).forEach(tag -> byName.put(tag.getName(), tag));
+        
+        // Two listings introducing the same new tag race on the unique name; the upsert lets both
+        // succeed, and the re-select picks up whichever row won. Sorted so concurrent batches lock in the same order
+        List<String> missing = names.stream()
+                .filter(name -> !byName.containsKey(name))
+                .sorted()
+                .toList();
+        if (!missing.isEmpty()) {
+            Instant now = Instant.now();
+            missing.forEach(name -> tagRepository.insertIfAbsent(UuidV7Generator.next(), name, now));
+            tagRepository.findByNameIn(missing).forEach(tag -> byName.put(tag.getName(), tag));
+        }
+        
+        return new HashSet<>(byName.values());
+    }
+}
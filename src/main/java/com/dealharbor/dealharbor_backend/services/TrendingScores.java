@@ -0,0 +1,260 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exponentially decayed engagement scores with the top K kept in an indexed min-heap.
+ * Scores use forward decay: an event of weight w at time t adds w * 2^((t - base) / halfLife),
+ * so older scores never need to be touched as time passes and the heap order stays valid.
+ * The score at time {@code now} is the stored value divided by 2^((now - base) / halfLife);
+ * {@link #rebase} moves {@code base} forward before the growth factor gets large.
+ * Scores live in primitive arrays indexed by slot; only the id-to-slot lookup is a map.
+ */
+final class TrendingScores {
+
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final int capacity;
+    private final double halfLifeMillis;
+    private long baseMillis;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private String[] ids = new String[INITIAL_SLOTS];
+    private double[] scores = new double[INITIAL_SLOTS];
+    private int[] heapPosition = new int[INITIAL_SLOTS];
+    private final BitSet dirty = new BitSet();
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int nextSlot;
+
+    private final int[] heap;
+    private int heapSize;
+
+    TrendingScores(int capacity, Duration halfLife, Instant base) {
+        this.capacity = capacity;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.baseMillis = base.toEpochMilli();
+        this.heap = new int[capacity];
+        Arrays.fill(heapPosition, -1);
+    }
+
+    /**
+     * Adds an engagement event of the given weight.
+     */
+    synchronized void add(String id, double weight, Instant at) {
+        if (weight <= 0) {
+            return;
+        }
+        int slot = slotOf(id);
+        scores[slot] += weight * growth(at);
+        dirty.set(slot);
+        offer(slot);
+    }
+
+    /**
+     * Restores a checkpointed score that was {@code score} at {@code at}; does not mark it dirty.
+     */
+    synchronized void restore(String id, double score, Instant at) {
+        if (score <= 0) {
+            return;
+        }
+        int slot = slotOf(id);
+        scores[slot] += score * growth(at);
+        offer(slot);
+    }
+
+    /**
+     * Forgets a product that is no longer eligible (sold, rejected, deleted).
+     */
+    synchronized void remove(String id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        boolean inHeap = heapPosition[slot] >= 0;
+        release(slot);
+        if (inHeap) {
+            // Lets the best product outside the top K move up into the freed place
+            rebuildHeap();
+        }
+    }
+
+    /**
+     * Ids of the top K products, highest score first.
+     */
+    synchronized List<String> top() {
+        Integer[] ranked = new Integer[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            ranked[i] = heap[i];
+        }
+        Arrays.sort(ranked, (a, b) -> Double.compare(scores[b], scores[a]));
+        List<String> result = new ArrayList<>(heapSize);
+        for (Integer slot : ranked) {
+            result.add(ids[slot]);
+        }
+        return result;
+    }
+
+    synchronized double scoreAt(String id, Instant now) {
+        Integer slot = slots.get(id);
+        return slot != null ? scores[slot] / growth(now) : 0;
+    }
+
+    /**
+     * Current scores of everything changed since the last drain.
+     */
+    synchronized Map<String, Double> drainDirty(Instant now) {
+        double factor = growth(now);
+        Map<String, Double> changed = new LinkedHashMap<>();
+        for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1)) {
+            changed.put(ids[slot], scores[slot] / factor);
+        }
+        dirty.clear();
+        return changed;
+    }
+
+    synchronized void markDirty(Collection<String> changedIds) {
+        for (String id : changedIds) {
+            Integer slot = slots.get(id);
+            if (slot != null) {
+                dirty.set(slot);
+            }
+        }
+    }
+
+    /**
+     * Rescales every score to a new base and drops clean entries that have decayed below {@code pruneBelow}.
+     */
+    synchronized void rebase(Instant newBase, double pruneBelow) {
+        double factor = growth(newBase);
+        for (Integer slot : new ArrayList<>(slots.values())) {
+            scores[slot] /= factor;
+            if (scores[slot] < pruneBelow && !dirty.get(slot)) {
+                slots.remove(ids[slot]);
+                release(slot);
+            }
+        }
+        baseMillis = newBase.toEpochMilli();
+        rebuildHeap();
+    }
+
+    synchronized Instant base() {
+        return Instant.ofEpochMilli(baseMillis);
+    }
+
+    synchronized int size() {
+        return slots.size();
+    }
+
+    private double growth(Instant at) {
+        return Math.pow(2, (at.toEpochMilli() - baseMillis) / halfLifeMillis);
+    }
+
+    private int slotOf(String id) {
+        Integer existing = slots.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot++;
+        if (slot >= ids.length) {
+            int length = ids.length * 2;
+            ids = Arrays.copyOf(ids, length);
+            scores = Arrays.copyOf(scores, length);
+            int previous = heapPosition.length;
+            heapPosition = Arrays.copyOf(heapPosition, length);
+            Arrays.fill(heapPosition, previous, length, -1);
+        }
+        ids[slot] = id;
+        slots.put(id, slot);
+        return slot;
+    }
+
+    private void release(int slot) {
+        ids[slot] = null;
+        scores[slot] = 0;
+        heapPosition[slot] = -1;
+        dirty.clear(slot);
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Scores only grow between rebuilds, so a slot already in the heap sinks and any other slot
+     * either fills a free place or replaces the current minimum.
+     */
+    private void offer(int slot) {
+        int position = heapPosition[slot];
+        if (position >= 0) {
+            siftDown(position);
+        } else if (heapSize < capacity) {
+            place(slot, heapSize++);
+            siftUp(heapSize - 1);
+        } else if (scores[slot] > scores[heap[0]]) {
+            heapPosition[heap[0]] = -1;
+            place(slot, 0);
+            siftDown(0);
+        }
+    }
+
+    private void rebuildHeap() {
+        for (int i = 0; i < heapSize; i++) {
+            heapPosition[heap[i]] = -1;
+        }
+        heapSize = 0;
+        for (int slot : slots.values()) {
+            offer(slot);
+        }
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (scores[heap[parent]] <= scores[heap[position]]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < heapSize && scores[heap[left]] < scores[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < heapSize && scores[heap[right]] < scores[heap[smallest]]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int slot = heap[a];
+        place(heap[b], a);
+        place(slot, b);
+    }
+
+    private void place(int slot, int position) {
+        heap[position] = slot;
+        heapPosition[slot] = position;
+    }
+}
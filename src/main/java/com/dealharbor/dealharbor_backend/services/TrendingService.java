@@ -0,0 +1,176 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.PagedResponse;
+import com.dealharbor.dealharbor_backend.dto.ProductSummaryResponse;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import com.dealharbor.dealharbor_backend.repositories.ProductRepository;
+import com.dealharbor.dealharbor_backend.repositories.ProductSummaryView;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trending products ranked by exponentially decayed unique viewers and favorites.
+ * New distinct viewers (as counted by UniqueViewerService) and favorites update the in-memory
+ * {@link TrendingScores}, and the top K is served from its heap.
+ * Changed scores are checkpointed to the products table every few minutes and restored on startup.
+ */
+@Service
+@RequiredArgsConstructor
+@Order(5)
+@Slf4j
+public class TrendingService implements CommandLineRunner {
+
+    private static final int TOP_K = 200;
+    private static final Duration HALF_LIFE = Duration.ofHours(24);
+    private static final Duration REBASE_INTERVAL = Duration.ofDays(1);
+    private static final double PRUNE_BELOW = 0.01;
+    // Per distinct viewer, so refreshes and bots hammering one listing do not make it trend
+    private static final double VIEW_WEIGHT = 1;
+    private static final double FAVORITE_WEIGHT = 2;
+
+    private static final String LOAD_SQL =
+            "SELECT id, trending_score, trending_score_at, view_count, favorite_count, created_at " +
+            "FROM products WHERE status = 'APPROVED'";
+
+    private static final String CHECKPOINT_SQL =
+            "UPDATE products SET trending_score = :score, trending_score_at = :at WHERE id = :id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+
+    private final TrendingScores scores = new TrendingScores(TOP_K, HALF_LIFE, Instant.now());
+
+    @Override
+    public void run(String... args) {
+        try {
+            load();
+        } catch (Exception e) {
+            // Trending starts empty and fills up from new engagement
+            log.error("Failed to restore trending scores: {}", e.getMessage(), e);
+        }
+    }
+
+    private void load() {
+        Instant bootstrapSince = Instant.now().minus(7, ChronoUnit.DAYS);
+        int[] restored = new int[2];
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            String id = rs.getString("id");
+            Timestamp scoreAt = rs.getTimestamp("trending_score_at");
+            if (scoreAt != null) {
+                scores.restore(id, rs.getDouble("trending_score"), scoreAt.toInstant());
+                restored[0]++;
+                return;
+            }
+            // Never checkpointed: seed from lifetime counts, treated as engagement at listing time
+            Instant createdAt = rs.getTimestamp("created_at").toInstant();
+            if (createdAt.isAfter(bootstrapSince)) {
+                double seed = VIEW_WEIGHT * rs.getInt("view_count") + FAVORITE_WEIGHT * rs.getInt("favorite_count");
+                scores.restore(id, seed, createdAt);
+                restored[1]++;
+            }
+        });
+        log.info("Trending scores loaded: {} restored, {} seeded from counts", restored[0], restored[1]);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(ProductEngagementEvent event) {
+        // Raw views are not scored; they arrive deduplicated as UniqueViewersCountedEvent
+        if (event.kind() == ProductEngagementEvent.Kind.FAVORITE) {
+            scores.add(event.productId(), FAVORITE_WEIGHT, event.occurredAt());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUniqueViewers(UniqueViewersCountedEvent event) {
+        scores.add(event.productId(), VIEW_WEIGHT * event.newViewers(), event.countedAt());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.current() == null || event.current().status() != ProductStatus.APPROVED) {
+            scores.remove(event.productId());
+        }
+    }
+
+    public PagedResponse<ProductSummaryResponse> getTrendingProducts(int page, int size) {
+        List<String> ranked = scores.top();
+        int from = Math.min(page * size, ranked.size());
+        List<String> pageIds = ranked.subList(from, Math.min(from + size, ranked.size()));
+
+        Map<String, ProductSummaryView> views = productRepository.findSummariesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(ProductSummaryView::getId, Function.identity()));
+        List<ProductSummaryView> ordered = new ArrayList<>();
+        for (String id : pageIds) {
+            ProductSummaryView view = views.get(id);
+            if (view != null) {
+                ordered.add(view);
+            }
+        }
+
+        int totalPages = size > 0 ? (ranked.size() + size - 1) / size : 0;
+        return new PagedResponse<>(
+                productMapper.toSummaries(ordered),
+                page,
+                size,
+                ranked.size(),
+                totalPages,
+                page == 0,
+                page >= totalPages - 1,
+                page < totalPages - 1,
+                page > 0
+        );
+    }
+
+    @Scheduled(fixedDelayString = "PT5M", initialDelayString = "PT5M")
+    public void checkpoint() {
+        Instant now = Instant.now();
+        if (Duration.between(scores.base(), now).compareTo(REBASE_INTERVAL) > 0) {
+            scores.rebase(now, PRUNE_BELOW);
+        }
+
+        Map<String, Double> changed = scores.drainDirty(now);
+        if (changed.isEmpty()) {
+            return;
+        }
+        Timestamp at = Timestamp.from(now);
+        SqlParameterSource[] batch = changed.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("id", entry.getKey())
+                        .addValue("score", entry.getValue())
+                        .addValue("at", at))
+                .toArray(SqlParameterSource[]::new);
+        try {
+            jdbcTemplate.batchUpdate(CHECKPOINT_SQL, batch);
+            log.debug("Checkpointed {} trending scores ({} tracked)", changed.size(), scores.size());
+        } catch (Exception e) {
+            scores.markDirty(changed.keySet());
+            log.error("Failed to checkpoint trending scores: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+}
@@ -0,0 +1,283 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.ProductViewerStatsResponse;
+import com.dealharbor.dealharbor_backend.entities.ProductViewerSketch;
+import com.dealharbor.dealharbor_backend.repositories.ProductViewerSketchRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Distinct viewers per product, estimated with one HyperLogLog per product per UTC day.
+ * Views are offered to in-memory delta sketches keyed on the user (or the client IP for anonymous
+ * visitors; only a 64-bit hash of it reaches the sketch). Each delta belongs to the UTC day of its
+ * views and is merged into that day's stored sketch every minute. Windows are unions of daily
+ * sketches, so refreshes and repeat visits count once.
+ * The 7-day count is kept on products.unique_viewers for popularity sorting, and each day's newly
+ * seen viewers are published to the trending engine.
+ */
+@Service
+@Order(7)
+@Slf4j
+public class UniqueViewerService implements CommandLineRunner {
+
+    private static final int WEEK_DAYS = 7;
+    private static final int RETENTION_DAYS = 30;
+    private static final int RECOMPUTE_BATCH = 500;
+
+    private static final String LOAD_SQL = "SELECT id, unique_viewers FROM products WHERE unique_viewers > 0";
+    private static final String UPDATE_SQL = "UPDATE products SET unique_viewers = ? WHERE id = ?";
+
+    private final ProductViewerSketchRepository sketchRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+
+    private record PendingKey(String productId, LocalDate day) {
+    }
+
+    // Same generation scheme as ViewCountBuffer; re-merging a sketch is harmless because union is idempotent,
+    // and keying by day sends a re-merged delta back to its own day's row after midnight
+    private volatile Map<PendingKey, HyperLogLog> pending = new ConcurrentHashMap<>();
+    private volatile Map<PendingKey, HyperLogLog> previous = new HashMap<>();
+    private final Map<String, Integer> weekly = new ConcurrentHashMap<>();
+
+    public UniqueViewerService(ProductViewerSketchRepository sketchRepository,
+                               JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.sketchRepository = sketchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                weekly.put(rs.getString("id"), rs.getInt("unique_viewers"));
+            });
+        } catch (Exception e) {
+            log.error("Failed to load unique viewer counts: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Identity a view is counted under: the signed-in user, else the client IP.
+     */
+    public static String viewerKey(Authentication authentication, HttpServletRequest request) {
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isEmpty()) {
+            return "ip:" + forwardedFor.split(",")[0].trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(ProductEngagementEvent event) {
+        if (event.kind() != ProductEngagementEvent.Kind.VIEW || event.viewerKey() == null) {
+            return;
+        }
+        long hash = HyperLogLog.hash(event.viewerKey());
+        PendingKey key = new PendingKey(event.productId(), LocalDate.ofInstant(event.occurredAt(), ZoneOffset.UTC));
+        HyperLogLog sketch = pending.computeIfAbsent(key, k -> new HyperLogLog());
+        synchronized (sketch) {
+            sketch.offer(hash);
+        }
+    }
+
+    /**
+     * Distinct viewers over the last seven days, as of the last flush; used for popularity sorting.
+     */
+    public int weeklyUniqueViewers(String productId) {
+        return weekly.getOrDefault(productId, 0);
+    }
+
+    public ProductViewerStatsResponse getViewerStats(String productId) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        HyperLogLog day = new HyperLogLog();
+        HyperLogLog week = new HyperLogLog();
+        HyperLogLog month = new HyperLogLog();
+        for (ProductViewerSketch row : sketchRepository.findByProductIdAndDayGreaterThanEqual(
+                productId, today.minusDays(RETENTION_DAYS - 1))) {
+            HyperLogLog sketch = HyperLogLog.fromBytes(row.getSketch());
+            month.merge(sketch);
+            if (!row.getDay().isBefore(today.minusDays(WEEK_DAYS - 1))) {
+                week.merge(sketch);
+            }
+            if (row.getDay().equals(today)) {
+                day.merge(sketch);
+            }
+        }
+
+        // Views not flushed yet are from today, or from yesterday right after midnight
+        for (LocalDate viewed : List.of(today, today.minusDays(1))) {
+            PendingKey key = new PendingKey(productId, viewed);
+            HyperLogLog unflushed = new HyperLogLog();
+            mergeInto(unflushed, pending.get(key));
+            mergeInto(unflushed, previous.get(key));
+            if (viewed.equals(today)) {
+                day.merge(unflushed);
+            }
+            week.merge(unflushed);
+            month.merge(unflushed);
+        }
+
+        return ProductViewerStatsResponse.builder()
+                .productId(productId)
+                .uniqueViewersToday(day.estimate())
+                .uniqueViewersLast7Days(week.estimate())
+                .uniqueViewersLast30Days(month.estimate())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "PT1M", initialDelayString = "PT1M")
+    public synchronized void flush() {
+        Map<PendingKey, HyperLogLog> swapped = pending;
+        pending = new ConcurrentHashMap<>();
+
+        Map<PendingKey, HyperLogLog> deltas = new HashMap<>();
+        previous.forEach((key, sketch) -> mergeInto(deltas.computeIfAbsent(key, k -> new HyperLogLog()), sketch));
+        swapped.forEach((key, sketch) -> mergeInto(deltas.computeIfAbsent(key, k -> new HyperLogLog()), sketch));
+        previous = swapped;
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transaction.executeWithoutResult(status -> store(deltas, LocalDate.now(ZoneOffset.UTC)));
+        } catch (Exception e) {
+            // Keep the views for the next flush
+            deltas.forEach((key, delta) -> mergeInto(pending.computeIfAbsent(key, k -> new HyperLogLog()), delta));
+            log.error("Failed to flush unique viewer sketches: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Recomputes the 7-day counts once the window has moved and drops sketches past retention.
+     * Shares the monitor with {@link #flush} so neither overwrites the other's weekly counts.
+     */
+    @Scheduled(cron = "0 10 0 * * *", zone = "UTC")
+    public synchronized void rollWindow() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate weekStart = today.minusDays(WEEK_DAYS - 1);
+        Integer purged = transaction.execute(status -> sketchRepository.deleteByDayBefore(today.minusDays(RETENTION_DAYS - 1)));
+
+        Map<String, Integer> recomputed = new HashMap<>();
+        List<String> productIds = sketchRepository.findProductIdsSince(weekStart);
+        for (int from = 0; from < productIds.size(); from += RECOMPUTE_BATCH) {
+            List<String> batch = productIds.subList(from, Math.min(from + RECOMPUTE_BATCH, productIds.size()));
+            Map<String, HyperLogLog> unions = new HashMap<>();
+            for (ProductViewerSketch row : sketchRepository.findByProductIdInAndDayGreaterThanEqual(batch, weekStart)) {
+                unions.computeIfAbsent(row.getProductId(), id -> new HyperLogLog())
+                        .merge(HyperLogLog.fromBytes(row.getSketch()));
+            }
+            unions.forEach((productId, union) -> recomputed.put(productId, (int) union.estimate()));
+        }
+
+        List<Object[]> updates = new ArrayList<>();
+        recomputed.forEach((productId, count) -> updates.add(new Object[]{count, productId}));
+        for (String productId : weekly.keySet()) {
+            if (!recomputed.containsKey(productId)) {
+                updates.add(new Object[]{0, productId});
+            }
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        weekly.keySet().retainAll(recomputed.keySet());
+        weekly.putAll(recomputed);
+        log.info("Unique viewer window rolled: {} products counted, {} old sketches purged", recomputed.size(), purged);
+    }
+
+    private void store(Map<PendingKey, HyperLogLog> deltas, LocalDate today) {
+        LocalDate weekStart = today.minusDays(WEEK_DAYS - 1);
+        LocalDate since = deltas.keySet().stream().map(PendingKey::day).filter(weekStart::isAfter)
+                .min(LocalDate::compareTo).orElse(weekStart);
+        Set<String> productIds = deltas.keySet().stream().map(PendingKey::productId).collect(Collectors.toSet());
+        Map<PendingKey, ProductViewerSketch> rows = new HashMap<>();
+        for (ProductViewerSketch row : sketchRepository.findByProductIdInAndDayGreaterThanEqual(productIds, since)) {
+            rows.put(new PendingKey(row.getProductId(), row.getDay()), row);
+        }
+
+        List<ProductViewerSketch> changed = new ArrayList<>();
+        Set<String> touched = new HashSet<>();
+        Instant now = Instant.now();
+        deltas.forEach((key, delta) -> {
+            ProductViewerSketch row = rows.computeIfAbsent(key,
+                    k -> ProductViewerSketch.builder().productId(k.productId()).day(k.day()).build());
+            HyperLogLog daySketch = row.getSketch() != null ? HyperLogLog.fromBytes(row.getSketch()) : new HyperLogLog();
+            long before = row.getSketch() != null ? daySketch.estimate() : 0;
+            if (!daySketch.merge(delta)) {
+                return; // Every viewer was already counted on that day
+            }
+            row.setSketch(daySketch.toBytes());
+            changed.add(row);
+            touched.add(key.productId());
+
+            long newViewers = daySketch.estimate() - before;
+            if (newViewers > 0) {
+                eventPublisher.publishEvent(new UniqueViewersCountedEvent(key.productId(), newViewers, now));
+            }
+        });
+
+        Map<String, HyperLogLog> weeks = new HashMap<>();
+        rows.forEach((key, row) -> {
+            if (touched.contains(key.productId()) && !key.day().isBefore(weekStart) && row.getSketch() != null) {
+                weeks.computeIfAbsent(key.productId(), id -> new HyperLogLog()).merge(HyperLogLog.fromBytes(row.getSketch()));
+            }
+        });
+        List<Object[]> counts = new ArrayList<>();
+        weeks.forEach((productId, week) -> {
+            int weeklyCount = (int) week.estimate();
+            weekly.put(productId, weeklyCount);
+            counts.add(new Object[]{weeklyCount, productId});
+        });
+
+        sketchRepository.saveAll(changed);
+        jdbcTemplate.batchUpdate(UPDATE_SQL, counts);
+        log.debug("Flushed viewer sketches for {} products", touched.size());
+    }
+
+    private static void mergeInto(HyperLogLog target, HyperLogLog source) {
+        if (source == null) {
+            return;
+        }
+        synchronized (source) {
+            synchronized (target) {
+                target.merge(source);
+            }
+        }
+    }
+}
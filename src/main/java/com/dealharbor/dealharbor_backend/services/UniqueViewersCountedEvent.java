@@ -0,0 +1,9 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import java.time.Instant;
+
+/**
+ * Published when a flush finds new distinct viewers of a product for the current day.
+ */
+public record UniqueViewersCountedEvent(String productId, long newViewers, Instant countedAt) {
+}
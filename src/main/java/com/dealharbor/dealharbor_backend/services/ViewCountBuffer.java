@@ -0,0 +1,89 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for product view counts. Views are added to a LongAdder per product and
+ * flushed as one batch of relative {@code view_count = view_count + ?} updates, so a hot listing
+ * no longer takes a row lock per page view and concurrent views cannot overwrite each other.
+ * Each flush swaps in a fresh map and drains the previous generation once more on the next flush,
+ * which picks up views recorded by threads that still held an adder from the swapped-out map.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE products SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Map<String, LongAdder> current = new ConcurrentHashMap<>();
+    private Map<String, LongAdder> previous = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(ProductEngagementEvent event) {
+        if (event.kind() == ProductEngagementEvent.Kind.VIEW) {
+            record(event.productId(), 1);
+        }
+    }
+
+    public void record(String productId, long views) {
+        current.computeIfAbsent(productId, id -> new LongAdder()).add(views);
+    }
+
+    @Scheduled(fixedDelayString = "PT10S", initialDelayString = "PT10S")
+    public synchronized void flush() {
+        Map<String, LongAdder> swapped = current;
+        current = new ConcurrentHashMap<>();
+
+        List<Object[]> batch = new ArrayList<>();
+        drain(previous, batch);
+        drain(swapped, batch);
+        previous = swapped;
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Flushed view counts for {} products", batch.size());
+        } catch (Exception e) {
+            // Put the views back so the next flush retries them
+            for (Object[] row : batch) {
+                record((String) row[1], (Long) row[0]);
+            }
+            log.error("Failed to flush view counts: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        // A second pass drains the generation the first one swapped out
+        flush();
+    }
+
+    // Subtracts what was read instead of resetting, so a concurrent increment is never lost
+    private static void drain(Map<String, LongAdder> adders, List<Object[]> batch) {
+        adders.forEach((productId, adder) -> {
+            long views = adder.sum();
+            if (views > 0) {
+                adder.add(-views);
+                batch.add(new Object[]{views, productId});
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.dealharbor.dealharbor_backend.entities;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Inserts into a table keyed by the 36-character id column, with random v4 ids against v7 ids,
+ * in embedded H2. Timing only, so it is opt-in: {@code mvn test -Dtest=UuidInsertBenchmarkTest -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class UuidInsertBenchmarkTest {
+
+    private static final int ROWS = 500_000;
+    private static final int BATCH = 1_000;
+
+    @Test
+    void sequentialIdsAgainstRandomIds() throws Exception {
+        // Warm up the JIT and H2 with a smaller run of each
+        insert("warmup_v4", 50_000, () -> UUID.randomUUID().toString());
+        insert("warmup_v7", 50_000, UuidV7Generator::next);
+
+        long v4 = insert("ids_v4", ROWS, () -> UUID.randomUUID().toString());
+        long v7 = insert("ids_v7", ROWS, UuidV7Generator::next);
+
+        System.out.printf("%d inserts: v4 %.0f ms (%.2f us/row), v7 %.0f ms (%.2f us/row)%n",
+                ROWS, v4 / 1e6, v4 / 1e3 / ROWS, v7 / 1e6, v7 / 1e3 / ROWS);
+    }
+
+    private static long insert(String table, int rows, Supplier<String> ids) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + table)) {
+            connection.createStatement().execute(
+                    "CREATE TABLE " + table + " (id VARCHAR(36) PRIMARY KEY, payload VARCHAR(100))");
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " VALUES (?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    insert.setString(1, ids.get());
+                    insert.setString(2, "row " + i);
+                    insert.addBatch();
+                    if ((i + 1) % BATCH == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            return System.nanoTime() - start;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.dealharbor.dealharbor_backend.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void carriesTimestampVersionAndVariant() {
+        long before = System.currentTimeMillis();
+        UUID id = UUID.fromString(UuidV7Generator.next());
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = timestampOf(id);
+        // Never behind the clock; may run ahead only if earlier tests borrowed milliseconds
+        assertTrue(timestamp >= before, timestamp + " < " + before);
+        assertTrue(timestamp <= after + 1_000, timestamp + " > " + after);
+    }
+
+    @Test
+    void burstWithinOneMillisecondStaysStrictlyIncreasing() {
+        long now = System.currentTimeMillis() + 100;
+
+        List<String> ids = new ArrayList<>();
+        // More than the 4,096 sequence values of one millisecond
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.next(now));
+        }
+
+        assertStrictlyIncreasing(ids);
+        assertEquals(now, timestampOf(UUID.fromString(ids.get(0))));
+        // Sequence overflow borrows the following milliseconds instead of wrapping
+        assertEquals(now + 2, timestampOf(UUID.fromString(ids.get(ids.size() - 1))));
+    }
+
+    @Test
+    void clockRegressionDoesNotBreakOrder() {
+        long now = System.currentTimeMillis() + 200;
+        String ahead = UuidV7Generator.next(now + 50);
+
+        String behind = UuidV7Generator.next(now);
+
+        assertTrue(behind.compareTo(ahead) > 0, behind + " <= " + ahead);
+        assertEquals(now + 50, timestampOf(UUID.fromString(behind)));
+    }
+
+    @Test
+    void canonicalStringOrderMatchesGenerationOrder() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            ids.add(UuidV7Generator.next());
+        }
+
+        assertStrictlyIncreasing(ids);
+        ids.forEach(id -> assertEquals(36, id.length()));
+    }
+
+    @Test
+    void concurrentCallersNeverCollide() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> batches = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                batches.add(pool.submit(() -> {
+                    List<String> ids = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(UuidV7Generator.next());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<String> all = new HashSet<>();
+            for (Future<List<String>> batch : batches) {
+                List<String> ids = batch.get();
+                // Each thread sees its own ids in increasing order
+                assertStrictlyIncreasing(ids);
+                all.addAll(ids);
+            }
+            assertEquals(threads * perThread, all.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long timestampOf(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static void assertStrictlyIncreasing(List<String> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i).compareTo(ids.get(i - 1)) > 0, ids.get(i - 1) + " !< " + ids.get(i));
+        }
+    }
+}
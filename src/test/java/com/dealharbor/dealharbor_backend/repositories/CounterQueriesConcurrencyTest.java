@@ -0,0 +1,151 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.entities.Category;
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.User;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import com.dealharbor.dealharbor_backend.services.CounterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers the atomic counter statements from concurrent, separately committed transactions and
+ * checks that no increment is lost. Not wrapped in a test transaction, so rows are cleaned up by hand.
+ */
+@RepositoryTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CounterQueriesConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int CALLS_PER_THREAD = 50;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private CounterService counterService;
+    private String sellerId;
+    private String buyerId;
+    private String productId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        counterService = new CounterService(productRepository, userRepository);
+        transaction.executeWithoutResult(status -> {
+            Category category = TestEntities.category(em, "counters");
+            User seller = TestEntities.user(em, "counter-seller");
+            User buyer = TestEntities.user(em, "counter-buyer");
+            Product product = TestEntities.product(em, seller, category, ProductStatus.APPROVED);
+            sellerId = seller.getId();
+            buyerId = buyer.getId();
+            productId = product.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM products WHERE id = ?", productId);
+        jdbcTemplate.update("DELETE FROM users WHERE id IN (?, ?)", sellerId, buyerId);
+        jdbcTemplate.update("DELETE FROM categories WHERE id = 'counters'");
+    }
+
+    @Test
+    void concurrentFavoritesAreAllCounted() throws Exception {
+        hammer(call -> counterService.favoriteAdded(productId));
+
+        assertEquals(THREADS * CALLS_PER_THREAD, productRepository.findById(productId).orElseThrow().getFavoriteCount());
+    }
+
+    @Test
+    void decrementsNeverGoBelowZero() throws Exception {
+        hammer(call -> {
+            if (call % 2 == 0) {
+                counterService.favoriteAdded(productId);
+            } else {
+                counterService.favoriteRemoved(productId);
+            }
+        });
+
+        int favorites = productRepository.findById(productId).orElseThrow().getFavoriteCount();
+        // Removals that find the counter at zero are no-ops, so it ends between 0 and the number of adds
+        assertTrue(favorites >= 0 && favorites <= THREADS * CALLS_PER_THREAD / 2, "favorites = " + favorites);
+    }
+
+    @Test
+    void concurrentListingsAndSalesAreAllCounted() throws Exception {
+        int total = THREADS * CALLS_PER_THREAD;
+
+        hammer(call -> counterService.listingCreated(sellerId));
+        hammer(call -> counterService.saleCompleted(sellerId, buyerId, new BigDecimal("2.50")));
+
+        User seller = userRepository.findById(sellerId).orElseThrow();
+        User buyer = userRepository.findById(buyerId).orElseThrow();
+        assertEquals(total, seller.getTotalListings());
+        assertEquals(0, seller.getActiveListings());
+        assertEquals(total, seller.getTotalSales());
+        assertEquals(0, new BigDecimal("2.50").multiply(BigDecimal.valueOf(total)).compareTo(seller.getTotalRevenue()));
+        assertEquals(total, buyer.getTotalPurchases());
+    }
+
+    /**
+     * Runs the call THREADS * CALLS_PER_THREAD times, each in its own committed transaction,
+     * with all threads released at once.
+     */
+    private void hammer(IntConsumer call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        int n = thread * CALLS_PER_THREAD + i;
+                        transaction.executeWithoutResult(status -> call.accept(n));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
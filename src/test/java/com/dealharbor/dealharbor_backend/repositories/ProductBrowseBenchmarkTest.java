@@ -0,0 +1,160 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.entities.Category;
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.User;
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The old browse path fetched a page of approved products and filtered it in memory, against the
+ * Specification query that filters in the database. Reports rows scanned against rows returned for
+ * a selective filter combination. Timing only, so it is opt-in:
+ * {@code mvn test -Dtest=ProductBrowseBenchmarkTest -Dbenchmarks=true}.
+ */
+@RepositoryTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ProductBrowseBenchmarkTest {
+
+    private static final int PRODUCTS = 20_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 5;
+    private static final BigDecimal MIN_PRICE = new BigDecimal("100.00");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("500.00");
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private String sellerId;
+
+    @Test
+    void inMemoryFilteringAgainstSpecificationQuery() {
+        seed();
+        Pageable first = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        // What one request of the old path returned: a single page, filtered after the fact
+        Page<Product> oldPage = productRepository.findByStatusOrderByCreatedAtDesc(ProductStatus.APPROVED, first);
+        int oldReturned = filter(oldPage.getContent()).size();
+        Page<Product> newPage = productRepository.findAll(browse(), first);
+        em.clear();
+
+        // Warm up both paths before timing them
+        for (int i = 0; i < 3; i++) {
+            fillPageInMemory();
+            productRepository.findAll(browse(), first);
+            em.clear();
+        }
+
+        int[] scanned = new int[2];
+        long oldNanos = 0;
+        long newNanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            scanned = fillPageInMemory();
+            oldNanos += System.nanoTime() - start;
+            em.clear();
+
+            start = System.nanoTime();
+            productRepository.findAll(browse(), first);
+            newNanos += System.nanoTime() - start;
+            em.clear();
+        }
+
+        System.out.printf("%d products, %d matching:%n", PRODUCTS, newPage.getTotalElements());
+        System.out.printf("  old, one request: scanned %d rows, returned %d, reported total %d%n",
+                oldPage.getNumberOfElements(), oldReturned, oldReturned);
+        System.out.printf("  old, filling a page: scanned %d rows in %d queries, %.2f ms%n",
+                scanned[0], scanned[1], oldNanos / 1e6 / ROUNDS);
+        System.out.printf("  specification: returned %d rows in 2 queries, reported total %d, %.2f ms%n",
+                newPage.getNumberOfElements(), newPage.getTotalElements(), newNanos / 1e6 / ROUNDS);
+    }
+
+    /**
+     * Pages through approved products until a full page of matches is found, which is what the old
+     * path would have needed to return a correct page; returns rows scanned and queries issued.
+     */
+    private int[] fillPageInMemory() {
+        List<Product> matches = new ArrayList<>();
+        int rows = 0;
+        int queries = 0;
+        Page<Product> page;
+        int number = 0;
+        do {
+            page = productRepository.findByStatusOrderByCreatedAtDesc(ProductStatus.APPROVED,
+                    PageRequest.of(number++, PAGE_SIZE));
+            queries++;
+            rows += page.getNumberOfElements();
+            matches.addAll(filter(page.getContent()));
+        } while (matches.size() < PAGE_SIZE && page.hasNext());
+        return new int[] {rows, queries};
+    }
+
+    private List<Product> filter(List<Product> products) {
+        return products.stream()
+                .filter(p -> p.getCategory().getId().equals("electronics"))
+                .filter(p -> p.getCondition() == ProductCondition.GOOD)
+                .filter(p -> p.getPrice().compareTo(MIN_PRICE) >= 0)
+                .filter(p -> p.getPrice().compareTo(MAX_PRICE) <= 0)
+                .filter(p -> p.getSeller().getId().equals(sellerId))
+                .filter(Product::getIsFeatured)
+                .filter(p -> p.getOriginalPrice() != null && p.getOriginalPrice().compareTo(p.getPrice()) > 0)
+                .toList();
+    }
+
+    private Specification<Product> browse() {
+        return ProductSpecifications.browse(ProductStatus.APPROVED, "electronics", "GOOD",
+                MIN_PRICE, MAX_PRICE, sellerId, true, true);
+    }
+
+    private void seed() {
+        List<Category> categories = List.of(
+                TestEntities.category(em, "electronics"),
+                TestEntities.category(em, "books"),
+                TestEntities.category(em, "furniture"));
+        List<User> sellers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            sellers.add(TestEntities.user(em, "seller" + i));
+        }
+        sellerId = sellers.get(0).getId();
+        ProductCondition[] conditions = {ProductCondition.GOOD, ProductCondition.USED, ProductCondition.NEW};
+
+        Random random = new Random(42);
+        for (int i = 0; i < PRODUCTS; i++) {
+            BigDecimal price = BigDecimal.valueOf(50 + random.nextInt(600));
+            em.persist(Product.builder()
+                    .title("Product " + i)
+                    .description("Description")
+                    .price(price)
+                    .originalPrice(random.nextBoolean() ? price.add(BigDecimal.TEN) : null)
+                    .condition(conditions[random.nextInt(conditions.length)])
+                    .isFeatured(random.nextBoolean())
+                    .seller(sellers.get(random.nextInt(sellers.size())))
+                    .category(categories.get(random.nextInt(categories.size())))
+                    .status(ProductStatus.APPROVED)
+                    .build());
+            if ((i + 1) % 1_000 == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+}
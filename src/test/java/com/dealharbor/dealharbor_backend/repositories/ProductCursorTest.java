@@ -0,0 +1,63 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductCursorTest {
+
+    @Test
+    void roundTripsThroughToken() {
+        ProductCursor cursor = new ProductCursor("price_desc", "1499.99", "0190a5f2-0000-7000-8000-000000000001");
+
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(new BigDecimal("1499.99"), decoded.sortKey());
+    }
+
+    @Test
+    void sortKeyIsTypedBySortOrder() {
+        assertEquals(Instant.parse("2026-03-01T10:15:30Z"),
+                new ProductCursor("date_asc", "2026-03-01T10:15:30Z", "id").sortKey());
+        assertEquals(42, new ProductCursor("popularity", "42", "id").sortKey());
+        assertEquals(3.5f, new ProductCursor("relevance", "3.5", "id").sortKey());
+    }
+
+    @Test
+    void blankTokenMeansFirstPage() {
+        assertNull(ProductCursor.decode(null));
+        assertNull(ProductCursor.decode("  "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "price_asc\nnot-a-number\nid",
+            "date_desc\nyesterday\nid",
+            "popularity\n12.5\nid",
+            "relevance\nhigh\nid",
+            "shuffle\n1\nid",
+            "date_desc\n2026-03-01T10:15:30Z"
+    })
+    void tamperedTokensAreRejectedAsInvalidCursor(String raw) {
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> ProductCursor.decode(token));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+
+    @Test
+    void nonBase64TokenIsRejectedAsInvalidCursor() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> ProductCursor.decode("%%%"));
+        assertEquals("Invalid cursor", e.getMessage());
+    }
+}
@@ -0,0 +1,226 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.dto.ProductUpdateRequest;
+import com.dealharbor.dealharbor_backend.entities.Category;
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.ProductImage;
+import com.dealharbor.dealharbor_backend.entities.User;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import com.dealharbor.dealharbor_backend.search.ProductSearchEngine;
+import com.dealharbor.dealharbor_backend.search.SearchResultCache;
+import com.dealharbor.dealharbor_backend.services.CatalogStatisticsService;
+import com.dealharbor.dealharbor_backend.services.CategoryService;
+import com.dealharbor.dealharbor_backend.services.CounterService;
+import com.dealharbor.dealharbor_backend.services.EmailService;
+import com.dealharbor.dealharbor_backend.services.NotificationService;
+import com.dealharbor.dealharbor_backend.services.ProductMapper;
+import com.dealharbor.dealharbor_backend.services.ProductService;
+import com.dealharbor.dealharbor_backend.services.StorageService;
+import com.dealharbor.dealharbor_backend.services.TagService;
+import com.dealharbor.dealharbor_backend.services.TrendingService;
+import com.dealharbor.dealharbor_backend.services.UniqueViewerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Statement counts of the image writes behind product create and edit, with the JDBC batching
+ * settings from application.properties. The edit cases go through {@link ProductService#updateProduct}
+ * on the real repositories, with every other collaborator mocked.
+ */
+@RepositoryTest
+class ProductImageBatchingTest {
+
+    private static final int IMAGES = 20;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User seller;
+    private Product product;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Category category = TestEntities.category(em, "images");
+        seller = TestEntities.user(em, "image-seller");
+        product = TestEntities.product(em, seller, category, ProductStatus.APPROVED);
+        em.flush();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void newImagesAreInsertedInOneBatch() {
+        productImageRepository.saveAll(images(IMAGES));
+        em.flush();
+
+        assertEquals(IMAGES, statistics.getEntityInsertCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void droppedImagesAreDeletedInOneStatement() {
+        List<ProductImage> saved = productImageRepository.saveAll(images(IMAGES));
+        em.flush();
+        statistics.clear();
+
+        productImageRepository.deleteAllInBatch(saved.subList(0, 5));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(IMAGES - 5, productImageRepository.findByProductIdOrderBySortOrderAsc(product.getId()).size());
+    }
+
+    @Test
+    void reorderedImagesAreUpdatedInOneBatch() {
+        List<ProductImage> saved = productImageRepository.saveAll(images(IMAGES));
+        em.flush();
+        statistics.clear();
+
+        for (ProductImage image : saved) {
+            image.setSortOrder(image.getSortOrder() + 1);
+        }
+        em.flush();
+
+        assertEquals(IMAGES, statistics.getEntityUpdateCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void mixedEditInsertsOneUpdatesTwoAndDeletesOne() {
+        storeImages("a", "b", "c");
+
+        updateImages("c", "a", "d");
+
+        EntityStatistics images = imageStatistics();
+        assertEquals(1, images.getInsertCount());
+        assertEquals(2, images.getUpdateCount());
+        assertEquals(1, imageDeleteStatements());
+        assertEquals(List.of("c:0:true", "a:1:false", "d:2:false"), storedImages());
+    }
+
+    @Test
+    void resubmittingTheSameListWritesNoImages() {
+        storeImages("a", "b", "c");
+
+        updateImages("a", "b", "c");
+
+        EntityStatistics images = imageStatistics();
+        assertEquals(0, images.getInsertCount());
+        assertEquals(0, images.getUpdateCount());
+        assertEquals(0, imageDeleteStatements());
+        assertEquals(List.of("a:0:true", "b:1:false", "c:2:false"), storedImages());
+    }
+
+    @Test
+    void duplicateUrlsAreMatchedOneRowEach() {
+        storeImages("a", "a", "b");
+
+        updateImages("b", "a");
+
+        EntityStatistics images = imageStatistics();
+        assertEquals(0, images.getInsertCount());
+        assertEquals(2, images.getUpdateCount());
+        assertEquals(1, imageDeleteStatements());
+        assertEquals(List.of("b:0:true", "a:1:false"), storedImages());
+    }
+
+    private void storeImages(String... names) {
+        List<ProductImage> stored = images(names.length);
+        for (int i = 0; i < names.length; i++) {
+            stored.get(i).setImageUrl(url(names[i]));
+        }
+        productImageRepository.saveAll(stored);
+        em.flush();
+        em.clear();
+        statistics.clear();
+        StatementLog.clear();
+    }
+
+    private void updateImages(String... names) {
+        ProductUpdateRequest request = new ProductUpdateRequest();
+        request.setImageUrls(Arrays.stream(names).map(ProductImageBatchingTest::url).toList());
+        productService().updateProduct(product.getId(), request, authentication());
+        em.flush();
+    }
+
+    private EntityStatistics imageStatistics() {
+        return statistics.getEntityStatistics(ProductImage.class.getName());
+    }
+
+    // deleteAllInBatch is a bulk JPQL delete, which entity statistics do not count
+    private long imageDeleteStatements() {
+        return StatementLog.count("delete from product_images");
+    }
+
+    private List<String> storedImages() {
+        em.clear();
+        return productImageRepository.findByProductIdOrderBySortOrderAsc(product.getId()).stream()
+                .map(image -> image.getImageUrl().substring(image.getImageUrl().lastIndexOf('/') + 1)
+                        .replace(".jpg", "") + ":" + image.getSortOrder() + ":" + image.getIsPrimary())
+                .toList();
+    }
+
+    private Authentication authentication() {
+        return new UsernamePasswordAuthenticationToken(
+                org.springframework.security.core.userdetails.User.withUsername(seller.getEmail())
+                        .password("hash")
+                        .build(),
+                null);
+    }
+
+    private ProductService productService() {
+        return new ProductService(productRepository, mock(CategoryRepository.class), mock(CategoryService.class),
+                productImageRepository, userRepository, mock(StorageService.class), mock(EmailService.class),
+                mock(ProductPendingReviewRepository.class), mock(NotificationService.class),
+                mock(ProductSearchEngine.class), mock(TagService.class), mock(SearchResultCache.class),
+                mock(ProductMapper.class), mock(CatalogStatisticsService.class), mock(TrendingService.class),
+                mock(CounterService.class), mock(UniqueViewerService.class), mock(ApplicationEventPublisher.class));
+    }
+
+    private static String url(String name) {
+        return "https://img.example.com/" + name + ".jpg";
+    }
+
+    private List<ProductImage> images(int count) {
+        List<ProductImage> images = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            images.add(ProductImage.builder()
+                    .product(product)
+                    .imageUrl("https://img.example.com/" + i + ".jpg")
+                    .isPrimary(i == 0)
+                    .sortOrder(i)
+                    .createdAt(Instant.now())
+                    .build());
+        }
+        return images;
+    }
+}
@@ -0,0 +1,85 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.dto.PagedResponse;
+import com.dealharbor.dealharbor_backend.dto.ProductResponse;
+import com.dealharbor.dealharbor_backend.entities.Category;
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.User;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import com.dealharbor.dealharbor_backend.services.ProductMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Listing pages must cost a fixed number of statements regardless of page size:
+ * products with seller and category in one query, then the images of the whole page in one more.
+ */
+@RepositoryTest
+class ProductListingQueriesTest {
+
+    private static final int PRODUCTS = 6;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Category books = TestEntities.category(em, "books");
+        Category electronics = TestEntities.category(em, "electronics");
+        for (int i = 0; i < PRODUCTS; i++) {
+            User seller = TestEntities.user(em, "seller" + i);
+            Product product = TestEntities.product(em, seller, i % 2 == 0 ? books : electronics,
+                    i < 4 ? ProductStatus.APPROVED : ProductStatus.PENDING);
+            TestEntities.image(em, product, true);
+            TestEntities.image(em, product, false);
+        }
+        em.flush();
+        em.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void adminListingOfAllStatusesUsesTwoStatements() {
+        PagedResponse<ProductResponse> page = list(Specification.allOf());
+
+        assertEquals(PRODUCTS, page.getContent().size());
+        page.getContent().forEach(product -> assertEquals(2, product.getImages().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void adminListingFilteredByStatusUsesTwoStatements() {
+        PagedResponse<ProductResponse> page = list(ProductSpecifications.hasStatus(ProductStatus.PENDING));
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private PagedResponse<ProductResponse> list(Specification<Product> filter) {
+        ProductMapper mapper = new ProductMapper(productImageRepository);
+        return mapper.toPagedResponse(productRepository.findAll(filter,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"))));
+    }
+}
@@ -0,0 +1,107 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.entities.Category;
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.User;
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Every browse filter is part of the WHERE clause, so a page is always full and the total counts
+ * every matching product, not just the matches that happened to land on the first page.
+ */
+@RepositoryTest
+class ProductSpecificationsTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        Category books = TestEntities.category(em, "books");
+        Category electronics = TestEntities.category(em, "electronics");
+        alice = TestEntities.user(em, "alice");
+        User bob = TestEntities.user(em, "bob");
+
+        // Non-matching listings first, each failing exactly one filter, so the matches sit
+        // beyond the first page of approved products in newest-first order
+        listing("wrong category", alice, books, ProductCondition.GOOD, "200.00", "250.00", true, ProductStatus.APPROVED);
+        listing("wrong condition", alice, electronics, ProductCondition.USED, "200.00", "250.00", true, ProductStatus.APPROVED);
+        listing("too cheap", alice, electronics, ProductCondition.GOOD, "50.00", "80.00", true, ProductStatus.APPROVED);
+        listing("too expensive", alice, electronics, ProductCondition.GOOD, "600.00", "700.00", true, ProductStatus.APPROVED);
+        listing("other seller", bob, electronics, ProductCondition.GOOD, "200.00", "250.00", true, ProductStatus.APPROVED);
+        listing("not featured", alice, electronics, ProductCondition.GOOD, "200.00", "250.00", false, ProductStatus.APPROVED);
+        listing("no original price", alice, electronics, ProductCondition.GOOD, "200.00", null, true, ProductStatus.APPROVED);
+        listing("price raised", alice, electronics, ProductCondition.GOOD, "200.00", "150.00", true, ProductStatus.APPROVED);
+        listing("pending", alice, electronics, ProductCondition.GOOD, "200.00", "250.00", true, ProductStatus.PENDING);
+
+        listing("match 450", alice, electronics, ProductCondition.GOOD, "450.00", "500.00", true, ProductStatus.APPROVED);
+        listing("match 100", alice, electronics, ProductCondition.GOOD, "100.00", "120.00", true, ProductStatus.APPROVED);
+        listing("match 300", alice, electronics, ProductCondition.GOOD, "300.00", "400.00", true, ProductStatus.APPROVED);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void allFiltersCombinedPageThroughEveryMatch() {
+        Page<Product> first = browse(0, "GOOD");
+        Page<Product> second = browse(1, "GOOD");
+
+        assertEquals(List.of("match 100", "match 300"), titles(first));
+        assertEquals(List.of("match 450"), titles(second));
+        assertEquals(3, first.getTotalElements());
+        assertEquals(3, second.getTotalElements());
+        assertEquals(2, first.getTotalPages());
+    }
+
+    @Test
+    void unknownConditionMatchesNothing() {
+        Page<Product> page = browse(0, "MINT");
+
+        assertEquals(List.of(), titles(page));
+        assertEquals(0, page.getTotalElements());
+    }
+
+    private Page<Product> browse(int page, String condition) {
+        return productRepository.findAll(
+                ProductSpecifications.browse(ProductStatus.APPROVED, "electronics", condition,
+                        new BigDecimal("100.00"), new BigDecimal("500.00"), alice.getId(), true, true),
+                PageRequest.of(page, 2, Sort.by("price")));
+    }
+
+    private static List<String> titles(Page<Product> page) {
+        return page.getContent().stream().map(Product::getTitle).toList();
+    }
+
+    private void listing(String title, User seller, Category category, ProductCondition condition,
+                         String price, String originalPrice, boolean featured, ProductStatus status) {
+        em.persist(Product.builder()
+                .title(title)
+                .description("Description")
+                .price(new BigDecimal(price))
+                .originalPrice(originalPrice == null ? null : new BigDecimal(originalPrice))
+                .condition(condition)
+                .isFeatured(featured)
+                .seller(seller)
+                .category(category)
+                .status(status)
+                .build());
+    }
+}
@@ -0,0 +1,29 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records every SQL statement Hibernate prepares in the repository slice, for the writes that
+ * entity statistics do not see (bulk JPQL deletes and updates).
+ */
+public class StatementLog implements StatementInspector {
+
+    private static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    static long count(String prefix) {
+        return STATEMENTS.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+}
@@ -0,0 +1,29 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.entities.Tag;
+import com.dealharbor.dealharbor_backend.entities.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@RepositoryTest
+class TagRepositoryTest {
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Test
+    void insertIfAbsentSkipsExistingName() {
+        Instant now = Instant.now();
+
+        assertEquals(1, tagRepository.insertIfAbsent(UuidV7Generator.next(), "calculus", now));
+        assertEquals(0, tagRepository.insertIfAbsent(UuidV7Generator.next(), "calculus", now));
+
+        List<Tag> tags = tagRepository.findByNameIn(List.of("calculus"));
+        assertEquals(1, tags.size());
+    }
+}
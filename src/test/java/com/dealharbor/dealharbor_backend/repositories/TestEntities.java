@@ -0,0 +1,56 @@
+package com.dealharbor.dealharbor_backend.repositories;
+
+import com.dealharbor.dealharbor_backend.entities.Category;
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.ProductImage;
+import com.dealharbor.dealharbor_backend.entities.User;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import com.dealharbor.dealharbor_backend.enums.UserRole;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+
+/**
+ * Minimal valid rows for repository tests; only the non-null columns are filled in.
+ */
+final class TestEntities {
+
+    private TestEntities() {
+    }
+
+    static User user(TestEntityManager em, String name) {
+        return em.persist(User.builder()
+                .email(name + "@example.com")
+                .passwordHash("hash")
+                .name(name)
+                .role(UserRole.USER)
+                .enabled(true)
+                .build());
+    }
+
+    static Category category(TestEntityManager em, String id) {
+        return em.persist(Category.builder()
+                .id(id)
+                .name(id)
+                .build());
+    }
+
+    static Product product(TestEntityManager em, User seller, Category category, ProductStatus status) {
+        return em.persist(Product.builder()
+                .title("Product of " + seller.getName())
+                .description("Description")
+                .price(new BigDecimal("100.00"))
+                .seller(seller)
+                .category(category)
+                .status(status)
+                .build());
+    }
+
+    static ProductImage image(TestEntityManager em, Product product, boolean primary) {
+        return em.persist(ProductImage.builder()
+                .product(product)
+                .imageUrl("https://img.example.com/" + product.getId() + (primary ? "/primary.jpg" : "/extra.jpg"))
+                .isPrimary(primary)
+                .build());
+    }
+}
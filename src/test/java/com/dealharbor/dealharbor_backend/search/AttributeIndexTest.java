@@ -0,0 +1,123 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static com.dealharbor.dealharbor_backend.search.TestDocuments.document;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AttributeIndexTest {
+
+    private AttributeIndex index;
+    private List<ProductDocument> documents;
+
+    @BeforeEach
+    void setUp() {
+        index = new AttributeIndex();
+        documents = List.of(
+                document("0").category("books").condition(ProductCondition.NEW).price("250.00").tags("Calculus").build(),
+                document("1").category("books").condition(ProductCondition.USED).price("499.99").sellerVerifiedStudent().build(),
+                document("2").category("electronics").condition(ProductCondition.NEW).price("500.00").featured().build(),
+                document("3").category("electronics").condition(ProductCondition.GOOD).price("1200.00").deliveryAvailable().build(),
+                document("4").category("furniture").condition(ProductCondition.USED).price("75000.00").sellerVerifiedStudent().build()
+        );
+        for (int i = 0; i < documents.size(); i++) {
+            index.add(i, documents.get(i));
+        }
+    }
+
+    @Test
+    void filtersAreIntersected() {
+        SearchFilter filter = new SearchFilter("books", Set.of(ProductCondition.USED), null, null, null, null, null, null, true);
+
+        assertEquals(RoaringBitmap.bitmapOf(1), index.filter(null, filter));
+    }
+
+    @Test
+    void conditionsAreOrTogether() {
+        SearchFilter filter = new SearchFilter(null, Set.of(ProductCondition.NEW, ProductCondition.GOOD),
+                null, null, null, null, null, null, false);
+
+        assertEquals(RoaringBitmap.bitmapOf(0, 2, 3), index.filter(null, filter));
+    }
+
+    @Test
+    void priceRangeChecksBoundaryBucketsPerDocument() {
+        // 499.99 and 500.00 sit on either side of a bucket edge
+        SearchFilter filter = new SearchFilter(null, null, null, new BigDecimal("300"), new BigDecimal("499.99"),
+                null, null, null, false);
+        assertEquals(RoaringBitmap.bitmapOf(1), index.filter(null, filter));
+
+        SearchFilter openEnded = new SearchFilter(null, null, null, new BigDecimal("500"), null,
+                null, null, null, false);
+        assertEquals(RoaringBitmap.bitmapOf(2, 3, 4), index.filter(null, openEnded));
+    }
+
+    @Test
+    void booleanFilterFalseSelectsTheComplement() {
+        SearchFilter notFeatured = new SearchFilter(null, null, null, null, null, false, null, null, false);
+
+        assertEquals(RoaringBitmap.bitmapOf(0, 1, 3, 4), index.filter(null, notFeatured));
+    }
+
+    @Test
+    void tagFilterUsesNormalizedNames() {
+        SearchFilter filter = new SearchFilter(null, null, Set.of("calculus"), null, null, null, null, null, false);
+
+        assertEquals(RoaringBitmap.bitmapOf(0), index.filter(null, filter));
+    }
+
+    @Test
+    void filterIsRestrictedToBase() {
+        SearchFilter filter = new SearchFilter("electronics", null, null, null, null, null, null, null, false);
+
+        assertEquals(RoaringBitmap.bitmapOf(3), index.filter(RoaringBitmap.bitmapOf(0, 1, 3), filter));
+    }
+
+    @Test
+    void facetsCountEachDimensionWithoutItsOwnFilter() {
+        SearchFilter filter = new SearchFilter("books", Set.of(ProductCondition.NEW), null, null, null, null, null, null, false);
+
+        FacetCounts facets = index.facets(null, filter);
+
+        assertEquals(1, facets.totalMatches());
+        // Category counts ignore the category filter but keep the condition filter
+        assertEquals(1, facets.categories().get("books"));
+        assertEquals(1, facets.categories().get("electronics"));
+        // Condition counts ignore the condition filter but keep the category filter
+        assertEquals(1, facets.conditions().get(ProductCondition.NEW));
+        assertEquals(1, facets.conditions().get(ProductCondition.USED));
+        assertEquals(0, facets.conditions().get(ProductCondition.GOOD));
+        int[] expectedBuckets = new int[PriceBuckets.count()];
+        expectedBuckets[PriceBuckets.bucketOf(new BigDecimal("250.00"))] = 1;
+        assertArrayEquals(expectedBuckets, facets.priceBuckets());
+    }
+
+    @Test
+    void removeClearsEveryBitmap() {
+        index.remove(1, documents.get(1));
+        index.remove(4, documents.get(4));
+
+        SearchFilter verified = new SearchFilter(null, null, null, null, null, null, null, null, true);
+        assertEquals(new RoaringBitmap(), index.filter(null, verified));
+        assertEquals(1, index.categoryCount("books"));
+        assertEquals(0, index.categoryCount("furniture"));
+        assertEquals(RoaringBitmap.bitmapOf(0, 2, 3), index.filter(null, SearchFilter.NONE));
+    }
+
+    @Test
+    void optimizeKeepsResults() {
+        RoaringBitmap before = index.filter(null, SearchFilter.NONE);
+
+        index.optimize();
+
+        assertEquals(before, index.filter(null, SearchFilter.NONE));
+    }
+}
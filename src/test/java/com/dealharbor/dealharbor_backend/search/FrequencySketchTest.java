@@ -0,0 +1,50 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrequencySketchTest {
+
+    @Test
+    void countsAccessesPerKey() {
+        FrequencySketch sketch = new FrequencySketch(1_000);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("iphone".hashCode());
+        }
+        sketch.increment("laptop".hashCode());
+
+        assertEquals(5, sketch.frequency("iphone".hashCode()));
+        assertEquals(1, sketch.frequency("laptop".hashCode()));
+        assertEquals(0, sketch.frequency("camera".hashCode()));
+    }
+
+    @Test
+    void countersSaturate() {
+        FrequencySketch sketch = new FrequencySketch(1_000);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(7);
+        }
+
+        assertEquals(15, sketch.frequency(7));
+    }
+
+    @Test
+    void oldPopularityFadesOnceTheSampleIsFull() {
+        FrequencySketch sketch = new FrequencySketch(100);
+        int hot = "hot".hashCode();
+        for (int i = 0; i < 12; i++) {
+            sketch.increment(hot);
+        }
+
+        // Width is 512, so the counters are halved after 5,120 recorded accesses
+        int others = 0;
+        while (sketch.frequency(hot) >= 12 && others < 10_000) {
+            sketch.increment(others++);
+        }
+
+        assertTrue(others <= 5_120, "aged after " + others + " accesses");
+        assertTrue(sketch.frequency(hot) >= 6 && sketch.frequency(hot) < 12);
+    }
+}
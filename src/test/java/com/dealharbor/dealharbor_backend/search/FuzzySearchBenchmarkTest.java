@@ -0,0 +1,100 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.dealharbor.dealharbor_backend.search.TestDocuments.document;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fuzzy index lookups against the LIKE scan the keyword search used to run, over a synthetic catalog
+ * in embedded H2. Timing only, so it is opt-in: {@code mvn test -Dtest=FuzzySearchBenchmarkTest -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class FuzzySearchBenchmarkTest {
+
+    private static final int PRODUCTS = 50_000;
+    private static final int WARMUP = 200;
+    private static final int ROUNDS = 1_000;
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Casio", "Sony", "Dell", "Lenovo", "Canon", "Bose", "Nike", "Ikea"};
+    private static final String[] NOUNS = {"iPhone", "calculator", "laptop", "headphones", "camera", "textbook",
+            "bicycle", "monitor", "keyboard", "backpack", "desk", "chair", "lamp", "kettle", "guitar", "charger"};
+    private static final String[] ADJECTIVES = {"graphing", "wireless", "used", "vintage", "portable", "scientific",
+            "ergonomic", "compact", "refurbished", "electric"};
+    private static final String[] QUERIES = {"iphnoe", "casio calcultor", "wireles headphnes", "ergonmic chiar", "labtop"};
+
+    @Test
+    void fuzzyIndexAgainstLikeScan() throws Exception {
+        Random random = new Random(42);
+        List<ProductDocument> documents = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            String title = brand + " " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                    + NOUNS[random.nextInt(NOUNS.length)] + " " + random.nextInt(1000);
+            documents.add(document("p" + i).title(title).brand(brand).build());
+        }
+        ProductSearchEngine engine = new ProductSearchEngine();
+        engine.rebuild(documents);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:fuzzy_benchmark")) {
+            connection.createStatement().execute("CREATE TABLE products (id VARCHAR(36) PRIMARY KEY, title VARCHAR(200), brand VARCHAR(100))");
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO products VALUES (?, ?, ?)")) {
+                for (ProductDocument document : documents) {
+                    insert.setString(1, document.id());
+                    insert.setString(2, document.title());
+                    insert.setString(3, document.brand());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+
+            PreparedStatement like = connection.prepareStatement(
+                    "SELECT id FROM products WHERE LOWER(title) LIKE ? OR LOWER(brand) LIKE ?");
+            long likeHits = 0;
+            long fuzzyHits = 0;
+            for (int i = 0; i < WARMUP; i++) {
+                likeHits += like(like, QUERIES[i % QUERIES.length]);
+                fuzzyHits += engine.search(QUERIES[i % QUERIES.length], SearchFilter.NONE, true).size();
+            }
+
+            long likeStart = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                likeHits += like(like, QUERIES[i % QUERIES.length]);
+            }
+            long likeNanos = System.nanoTime() - likeStart;
+
+            long fuzzyStart = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                fuzzyHits += engine.search(QUERIES[i % QUERIES.length], SearchFilter.NONE, true).size();
+            }
+            long fuzzyNanos = System.nanoTime() - fuzzyStart;
+
+            System.out.printf("%d products, %d queries: LIKE %.1f us/query (%d hits), fuzzy index %.1f us/query (%d hits)%n",
+                    PRODUCTS, ROUNDS, likeNanos / 1_000.0 / ROUNDS, likeHits, fuzzyNanos / 1_000.0 / ROUNDS, fuzzyHits);
+            // The misspelled queries are exactly what LIKE cannot match
+            assertTrue(fuzzyHits > likeHits);
+        }
+    }
+
+    private static int like(PreparedStatement statement, String query) throws Exception {
+        String pattern = "%" + query.toLowerCase() + "%";
+        statement.setString(1, pattern);
+        statement.setString(2, pattern);
+        int hits = 0;
+        try (ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
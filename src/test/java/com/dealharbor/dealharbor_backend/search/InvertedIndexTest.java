@@ -0,0 +1,81 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Map;
+
+import static com.dealharbor.dealharbor_backend.search.TestDocuments.document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    @Test
+    void removedOrdinalsNoLongerScoreAndIdfUsesLiveCounts() {
+        InvertedIndex index = new InvertedIndex();
+        BitSet live = new BitSet();
+        ProductDocument[] documents = {
+                document("p0").title("Lamp").build(),
+                document("p1").title("Lamp").build(),
+                document("p2").title("Lamp").build(),
+                document("p3").title("Chair").build()
+        };
+        for (int i = 0; i < documents.length; i++) {
+            index.add(i, documents[i]);
+            live.set(i);
+        }
+        float before = score(index, live, "lamp", 0);
+
+        index.remove(1, documents[1]);
+        live.clear(1);
+        index.remove(2, documents[2]);
+        live.clear(2);
+
+        float[] scores = new float[documents.length];
+        BitSet matched = new BitSet();
+        index.score(Map.of("lamp", 1f), live, scores, matched);
+        assertEquals(1, matched.cardinality());
+        assertTrue(matched.get(0));
+        // One live "lamp" out of two live documents is rarer than three out of four
+        assertTrue(scores[0] > before);
+    }
+
+    @Test
+    void fieldWeightsFoldIntoTermFrequency() {
+        InvertedIndex index = new InvertedIndex();
+        BitSet live = new BitSet();
+        index.add(0, document("title").title("Kettle").description("steel").build());
+        index.add(1, document("description").title("Steel").description("kettle").build());
+        live.set(0, 2);
+
+        float[] scores = new float[2];
+        index.score(Map.of("kettle", 1f), live, scores, new BitSet());
+
+        assertTrue(scores[0] > scores[1]);
+    }
+
+    @Test
+    void matchIgnoresRetiredOrdinals() {
+        InvertedIndex index = new InvertedIndex();
+        BitSet live = new BitSet();
+        ProductDocument retired = document("old").title("Scooter").build();
+        index.add(0, retired);
+        index.add(1, document("new").title("Scooter").build());
+        live.set(1);
+        index.remove(0, retired);
+
+        BitSet matched = new BitSet();
+        index.match(java.util.List.of("scooter"), live, matched);
+
+        assertFalse(matched.get(0));
+        assertTrue(matched.get(1));
+    }
+
+    private static float score(InvertedIndex index, BitSet live, String term, int ordinal) {
+        float[] scores = new float[live.length()];
+        index.score(Map.of(term, 1f), live, scores, new BitSet());
+        return scores[ordinal];
+    }
+}
@@ -0,0 +1,156 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.dealharbor.dealharbor_backend.search.TestDocuments.document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductSearchEngineTest {
+
+    private ProductSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ProductSearchEngine();
+    }
+
+    @Test
+    void rebuildIndexesOnlySearchableDocuments() {
+        engine.rebuild(List.of(
+                document("p1").title("Acoustic guitar").build(),
+                document("p2").title("Electric guitar").status(ProductStatus.PENDING).build()));
+
+        assertTrue(engine.isReady());
+        assertEquals(1, engine.size());
+        assertEquals(Set.of("p1"), ids(engine.search("guitar")));
+    }
+
+    @Test
+    void titleMatchOutranksDescriptionMatch() {
+        engine.rebuild(List.of(
+                document("description").title("Music stand").description("Fits any guitar case").build(),
+                document("title").title("Guitar case").description("Hard shell").build()));
+
+        assertEquals(List.of("title", "description"), ranked("guitar"));
+    }
+
+    @Test
+    void shorterDocumentOutranksLongerForSameTermFrequency() {
+        engine.rebuild(List.of(
+                document("long").title("Camera").description("tripod lens strap battery charger bag cleaning kit").build(),
+                document("short").title("Camera").build()));
+
+        assertEquals(List.of("short", "long"), ranked("camera"));
+    }
+
+    @Test
+    void rarerTermContributesMoreThanCommonTerm() {
+        List<ProductDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            documents.add(document("common" + i).title("Desk lamp").build());
+        }
+        documents.add(document("rare").title("Vintage lamp").build());
+        documents.add(document("both").title("Desk").description("vintage").build());
+        engine.rebuild(documents);
+
+        // "vintage" occurs in 2 documents, "desk" in 11; the rare term dominates the ranking
+        assertEquals("rare", ranked("vintage lamp").get(0));
+    }
+
+    @Test
+    void upsertReplacesPreviousVersionOfDocument() {
+        engine.rebuild(List.of(document("p1").title("Mountain bike").build()));
+
+        engine.upsert(document("p1").title("Road bike helmet").build());
+
+        assertTrue(engine.search("mountain").isEmpty());
+        assertEquals(Set.of("p1"), ids(engine.search("helmet")));
+        assertEquals(1, engine.search("bike").size());
+        assertEquals("Road bike helmet", engine.getDocument("p1").title());
+    }
+
+    @Test
+    void upsertOfNonSearchableDocumentRemovesIt() {
+        engine.rebuild(List.of(document("p1").title("Mountain bike").build()));
+
+        engine.upsert(document("p1").title("Mountain bike").status(ProductStatus.SOLD).build());
+
+        assertTrue(engine.search("bike").isEmpty());
+        assertNull(engine.getDocument("p1"));
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    void removeDropsDocumentFromEveryIndex() {
+        engine.rebuild(List.of(
+                document("p1").title("Textbook calculus").category("books").build(),
+                document("p2").title("Textbook physics").category("books").build()));
+
+        engine.remove("p1");
+
+        assertEquals(Set.of("p2"), ids(engine.search("textbook")));
+        assertEquals(1, engine.categoryCount("books"));
+        assertFalse(engine.suggest("calc", 5).contains("calculus"));
+    }
+
+    @Test
+    void compactionKeepsLiveDocumentsSearchable() {
+        List<ProductDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            documents.add(document("p" + i).title("Notebook " + i).build());
+        }
+        engine.rebuild(documents);
+
+        // Each update retires an ordinal; enough of them push retired slots past live ones and trigger compaction
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 600; i++) {
+                engine.upsert(document("p" + i).title((i % 2 == 0 ? "Notebook " : "Planner ") + i).build());
+            }
+        }
+        for (int i = 300; i < 600; i++) {
+            engine.remove("p" + i);
+        }
+
+        assertEquals(300, engine.size());
+        assertEquals(150, engine.search("notebook").size());
+        assertEquals(150, engine.search("planner").size());
+        for (int i = 0; i < 300; i++) {
+            assertNotNull(engine.getDocument("p" + i));
+        }
+        assertNull(engine.getDocument("p450"));
+    }
+
+    @Test
+    void filterRestrictsKeywordMatches() {
+        engine.rebuild(List.of(
+                document("cheap").title("Desk chair").price("40.00").build(),
+                document("pricey").title("Desk chair").price("900.00").featured().build()));
+
+        SearchFilter featuredOnly = new SearchFilter(null, null, null, null, null, true, null, null, false);
+
+        assertEquals(Set.of("pricey"), ids(engine.search("chair", featuredOnly)));
+    }
+
+    private List<String> ranked(String query) {
+        return engine.search(query).stream()
+                .sorted(Comparator.comparingDouble(ScoredDocument::score).reversed())
+                .map(hit -> hit.document().id())
+                .toList();
+    }
+
+    private static Set<String> ids(List<ScoredDocument> hits) {
+        return hits.stream().map(hit -> hit.document().id()).collect(Collectors.toSet());
+    }
+}
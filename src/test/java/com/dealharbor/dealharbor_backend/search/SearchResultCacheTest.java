@@ -0,0 +1,137 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.dto.PagedResponse;
+import com.dealharbor.dealharbor_backend.dto.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.dealharbor.dealharbor_backend.search.TestDocuments.document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SearchResultCacheTest {
+
+    private static final int MAX_ENTRIES = 2_000;
+
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache();
+    }
+
+    @Test
+    void cachedPageIsReturnedAndCounted() {
+        SearchCacheKey key = key("laptop", 0);
+        PagedResponse<ProductResponse> page = page();
+
+        assertNull(cache.get(key));
+        cache.put(key, page, cache.generation());
+
+        assertSame(page, cache.get(key));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void putComputedBeforeAnInvalidationIsDropped() {
+        SearchCacheKey key = key("laptop", 0);
+        long generation = cache.generation();
+
+        cache.invalidate(new ProductChangedEvent("p1", null, document("p1").title("Desk lamp").build()));
+        cache.put(key, page(), generation);
+
+        assertNull(cache.get(key));
+        cache.put(key, page(), cache.generation());
+        assertNotNull(cache.get(key));
+    }
+
+    @Test
+    void invalidationEvictsOnlyQueriesTheProductCouldMatch() {
+        SearchCacheKey lamp = key("lamp", 0);
+        SearchCacheKey laptop = key("laptop", 0);
+        SearchCacheKey browse = key(null, 0);
+        cache.put(lamp, page(), cache.generation());
+        cache.put(laptop, page(), cache.generation());
+        cache.put(browse, page(), cache.generation());
+
+        cache.invalidate(new ProductChangedEvent("p1", null, document("p1").title("Desk lamp").build()));
+
+        assertNull(cache.get(lamp));
+        assertNull(cache.get(browse));
+        assertNotNull(cache.get(laptop));
+    }
+
+    @Test
+    void invalidationConsidersThePreviousStateOfTheProduct() {
+        SearchCacheKey lamp = key("lamp", 0);
+        cache.put(lamp, page(), cache.generation());
+        ProductDocument before = document("p1").title("Desk lamp").build();
+
+        cache.invalidate(new ProductChangedEvent("p1", before, null));
+
+        assertNull(cache.get(lamp));
+    }
+
+    @Test
+    void fullCacheRejectsOneHitWonders() {
+        fill();
+        SearchCacheKey newcomer = key("newcomer", 0);
+
+        cache.get(newcomer);
+        cache.put(newcomer, page(), cache.generation());
+
+        assertEquals(MAX_ENTRIES, cache.size());
+        assertNull(cache.get(key("newcomer", 0)));
+        assertNotNull(cache.get(key("filler", 0)));
+    }
+
+    @Test
+    void fullCacheAdmitsKeysRequestedMoreOftenThanTheVictim() {
+        fill();
+        SearchCacheKey popular = key("popular", 0);
+
+        for (int i = 0; i < 3; i++) {
+            cache.get(popular);
+        }
+        cache.put(popular, page(), cache.generation());
+
+        assertEquals(MAX_ENTRIES, cache.size());
+        assertNotNull(cache.get(popular));
+        // The least recently used entry made room
+        assertNull(cache.get(key("filler", 0)));
+    }
+
+    @Test
+    void clearDropsEntriesAndInFlightPuts() {
+        SearchCacheKey key = key("laptop", 0);
+        cache.put(key, page(), cache.generation());
+        long generation = cache.generation();
+
+        cache.clear();
+        cache.put(key("lamp", 0), page(), generation);
+
+        assertEquals(0, cache.size());
+    }
+
+    private void fill() {
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            SearchCacheKey key = key("filler", i);
+            cache.get(key);
+            cache.put(key, page(), cache.generation());
+        }
+    }
+
+    private static SearchCacheKey key(String keyword, int page) {
+        return new SearchCacheKey(keyword, false, null, List.of(), List.of(), null, null, null, null, false,
+                "date_desc", page, 20);
+    }
+
+    private static PagedResponse<ProductResponse> page() {
+        return new PagedResponse<>(List.of(), 0, 20, 0, 0, true, true, false, false);
+    }
+}
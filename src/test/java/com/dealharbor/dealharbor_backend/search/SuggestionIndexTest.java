@@ -0,0 +1,94 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.dealharbor.dealharbor_backend.search.TestDocuments.document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionIndexTest {
+
+    @Test
+    void completionsAreRankedBySummedPopularity() {
+        SuggestionIndex index = new SuggestionIndex();
+        index.add(0, document("0").title("iPhone 13").popularity(10, 0).build());
+        index.add(1, document("1").title("iPad Air").popularity(50, 0).build());
+        index.add(2, document("2").title("iPhone 13").popularity(30, 0).build());
+
+        // "iphone 13" and the title word "iphone" collect 11 + 31; "ipad air" and "ipad" get 51
+        List<String> suggestions = index.suggest("ip", 4);
+        assertEquals(Set.of("ipad", "ipad air"), Set.copyOf(suggestions.subList(0, 2)));
+        assertEquals(Set.of("iphone", "iphone 13"), Set.copyOf(suggestions.subList(2, 4)));
+    }
+
+    @Test
+    void favoritesWeighMoreThanViews() {
+        SuggestionIndex index = new SuggestionIndex();
+        index.add(0, document("0").title("Desk lamp").popularity(20, 0).build());
+        index.add(1, document("1").title("Desk chair").popularity(0, 5).build());
+
+        // The shared word "desk" sums both products; 1 + 5 * 5 beats 1 + 20
+        assertEquals(List.of("desk", "desk chair", "desk lamp"), index.suggest("desk", 3));
+    }
+
+    @Test
+    void prefixIsNormalizedLikeTheIndexedPhrases() {
+        SuggestionIndex index = new SuggestionIndex();
+        index.add(0, document("0").title("Sony WH-1000XM4").brand("Sony").build());
+
+        assertEquals(List.of("sony wh 1000xm4"), index.suggest("SONY  wh-", 5));
+    }
+
+    @Test
+    void brandModelAndTagsContributePhrases() {
+        SuggestionIndex index = new SuggestionIndex();
+        index.add(0, document("0").title("Headphones").brand("Bose").tags("noise cancelling").build());
+
+        assertEquals(List.of("bose"), index.suggest("bo", 5));
+        assertEquals(List.of("noise cancelling"), index.suggest("noi", 5));
+    }
+
+    @Test
+    void removeSubtractsWeightAndPrunesEmptyBranches() {
+        SuggestionIndex index = new SuggestionIndex();
+        ProductDocument popular = document("0").title("Graphing calculator").popularity(100, 0).build();
+        index.add(0, popular);
+        index.add(1, document("1").title("Graph paper").popularity(1, 0).build());
+        assertEquals(Set.of("graphing", "graphing calculator"), Set.copyOf(index.suggest("graph", 2)));
+
+        index.remove(0, popular);
+
+        assertEquals(Set.of("graph paper", "graph"), Set.copyOf(index.suggest("graph", 5)));
+        assertTrue(index.suggest("calc", 5).isEmpty());
+    }
+
+    @Test
+    void sharedPhraseSurvivesUntilLastContributorIsRemoved() {
+        SuggestionIndex index = new SuggestionIndex();
+        ProductDocument first = document("0").title("Bicycle").build();
+        ProductDocument second = document("1").title("Bicycle").build();
+        index.add(0, first);
+        index.add(1, second);
+
+        index.remove(0, first);
+        assertEquals(List.of("bicycle"), index.suggest("bic", 5));
+
+        index.remove(1, second);
+        assertTrue(index.suggest("bic", 5).isEmpty());
+    }
+
+    @Test
+    void limitAndBlankPrefix() {
+        SuggestionIndex index = new SuggestionIndex();
+        for (int i = 0; i < 10; i++) {
+            index.add(i, document(String.valueOf(i)).title("Chair model " + i).build());
+        }
+
+        assertEquals(3, index.suggest("chair", 3).size());
+        assertTrue(index.suggest("  ", 3).isEmpty());
+        assertTrue(index.suggest("chair", 0).isEmpty());
+    }
+}
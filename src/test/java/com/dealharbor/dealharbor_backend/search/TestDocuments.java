@@ -0,0 +1,108 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import com.dealharbor.dealharbor_backend.enums.ProductCondition;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Fluent {@link ProductDocument} builder for index tests; defaults to an approved, unfiltered listing.
+ */
+final class TestDocuments {
+
+    private String id;
+    private String title = "";
+    private String description = "";
+    private String brand;
+    private String model;
+    private List<String> tags = List.of();
+    private String categoryId = "electronics";
+    private ProductCondition condition = ProductCondition.GOOD;
+    private BigDecimal price = new BigDecimal("100.00");
+    private BigDecimal originalPrice;
+    private String sellerId = "seller-1";
+    private boolean sellerVerifiedStudent;
+    private boolean featured;
+    private boolean deliveryAvailable;
+    private boolean negotiable;
+    private ProductStatus status = ProductStatus.APPROVED;
+    private int viewCount;
+    private int favoriteCount;
+
+    private TestDocuments(String id) {
+        this.id = id;
+    }
+
+    static TestDocuments document(String id) {
+        return new TestDocuments(id);
+    }
+
+    TestDocuments title(String title) {
+        this.title = title;
+        return this;
+    }
+
+    TestDocuments description(String description) {
+        this.description = description;
+        return this;
+    }
+
+    TestDocuments brand(String brand) {
+        this.brand = brand;
+        return this;
+    }
+
+    TestDocuments tags(String... tags) {
+        this.tags = List.of(tags);
+        return this;
+    }
+
+    TestDocuments category(String categoryId) {
+        this.categoryId = categoryId;
+        return this;
+    }
+
+    TestDocuments condition(ProductCondition condition) {
+        this.condition = condition;
+        return this;
+    }
+
+    TestDocuments price(String price) {
+        this.price = new BigDecimal(price);
+        return this;
+    }
+
+    TestDocuments sellerVerifiedStudent() {
+        this.sellerVerifiedStudent = true;
+        return this;
+    }
+
+    TestDocuments featured() {
+        this.featured = true;
+        return this;
+    }
+
+    TestDocuments deliveryAvailable() {
+        this.deliveryAvailable = true;
+        return this;
+    }
+
+    TestDocuments status(ProductStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    TestDocuments popularity(int viewCount, int favoriteCount) {
+        this.viewCount = viewCount;
+        this.favoriteCount = favoriteCount;
+        return this;
+    }
+
+    ProductDocument build() {
+        return new ProductDocument(id, title, description, brand, model, tags, categoryId, condition, price,
+                originalPrice, sellerId, sellerVerifiedStudent, featured, deliveryAvailable, negotiable, status,
+                viewCount, favoriteCount, Instant.parse("2026-01-01T00:00:00Z"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.dealharbor.dealharbor_backend.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Map;
+
+import static com.dealharbor.dealharbor_backend.search.TestDocuments.document;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "kitten, sitting, 3, 3",
+            "iphone, iphnoe, 2, 1",
+            "abc, bac, 1, 1",
+            "abc, abc, 0, 0",
+            "casio, casino, 1, 1",
+            "calculator, calcultor, 2, 1",
+            "ca, abc, 3, 3"
+    })
+    void boundedDistanceMatchesOptimalStringAlignment(String a, String b, int max, int expected) {
+        assertEquals(expected, TrigramIndex.boundedDistance(a, b, max));
+        assertEquals(expected, TrigramIndex.boundedDistance(b, a, max));
+    }
+
+    @Test
+    void boundedDistanceGivesUpPastTheBudget() {
+        assertEquals(2, TrigramIndex.boundedDistance("laptop", "desktop", 1));
+        assertEquals(2, TrigramIndex.boundedDistance("bicycle", "unicycle", 1));
+        assertEquals(2, TrigramIndex.boundedDistance("bicycle", "tricycle", 2));
+    }
+
+    @Test
+    void shortTermTyposSharingNoTrigramAreFound() {
+        TrigramIndex index = indexOf("Bac adapter", "Act camera", "Dog bed");
+
+        // "abc" shares no padded trigram with "bac", nor "cat" with "act"
+        assertEquals(Map.of("bac", 1), index.similarTerms("abc"));
+        assertEquals(Map.of("act", 1), index.similarTerms("cat"));
+        assertTrue(index.similarTerms("dgo").containsKey("dog"));
+    }
+
+    @Test
+    void shortTermsRespectTheSingleEditBudget() {
+        TrigramIndex index = indexOf("Desk lamp", "Dusk lamp", "Disco ball");
+
+        Map<String, Integer> similar = index.similarTerms("dask");
+
+        assertEquals(Map.of("desk", 1, "dusk", 1), similar);
+    }
+
+    @Test
+    void longTermTyposAreExpandedWithinTwoEdits() {
+        TrigramIndex index = indexOf("Apple iPhone 13", "Casio calculator", "Calendar planner");
+
+        assertEquals(1, index.similarTerms("iphnoe").get("iphone"));
+        assertEquals(1, index.similarTerms("calcultor").get("calculator"));
+        assertFalse(index.similarTerms("calcultor").containsKey("calendar"));
+    }
+
+    @Test
+    void exactTermIsReturnedWithDistanceZero() {
+        TrigramIndex index = indexOf("Casio watch");
+
+        assertEquals(0, index.similarTerms("casio").get("casio"));
+        assertEquals(Map.of(), index.similarTerms("zz"));
+    }
+
+    @Test
+    void removedTermsAreNoLongerCandidates() {
+        TrigramIndex index = new TrigramIndex();
+        ProductDocument first = document("0").title("Bac adapter").build();
+        ProductDocument second = document("1").title("Bac cable").build();
+        index.add(0, first);
+        index.add(1, second);
+
+        index.remove(0, first);
+        assertEquals(Map.of("bac", 1), index.similarTerms("abc"));
+
+        index.remove(1, second);
+        assertTrue(index.similarTerms("abc").isEmpty());
+        assertTrue(index.similarTerms("cabel").isEmpty());
+        assertEquals(0, index.vocabularySize());
+    }
+
+    private static TrigramIndex indexOf(String... titles) {
+        TrigramIndex index = new TrigramIndex();
+        for (int i = 0; i < titles.length; i++) {
+            index.add(i, document(String.valueOf(i)).title(titles[i]).build());
+        }
+        return index;
+    }
+}
@@ -0,0 +1,87 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.entities.Category;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CategoryTreeTest {
+
+    private static final List<Category> CATEGORIES = List.of(
+            category("electronics", "Electronics", null, 2, true),
+            category("books", "Books", null, 1, true),
+            category("laptops", "Laptops", "electronics", 1, true),
+            category("phones", "Phones", "electronics", 0, true),
+            category("pagers", "Pagers", "electronics", 2, false),
+            category("gaming-laptops", "Gaming Laptops", "laptops", 0, true),
+            category("others", "Others", null, 99, true)
+    );
+
+    @Test
+    void rootsAndChildrenFollowSortOrderAndSkipInactive() {
+        CategoryTree tree = CategoryTree.build(CATEGORIES, Map.of(), 1);
+
+        assertEquals(List.of("books", "electronics", "others"), ids(tree.activeRoots()));
+        assertEquals(List.of("phones", "laptops"), ids(tree.activeChildren("electronics")));
+        assertTrue(tree.activeChildren("missing").isEmpty());
+        assertEquals(6, tree.activeCategories().size());
+        assertEquals(7, tree.size());
+    }
+
+    @Test
+    void nodesCarryPathFromRootAndProductCounts() {
+        CategoryTree tree = CategoryTree.build(CATEGORIES, Map.of("gaming-laptops", 12L), 3);
+
+        CategoryTree.Node node = tree.find("gaming-laptops").orElseThrow();
+        assertEquals(List.of("Electronics", "Laptops", "Gaming Laptops"), node.path());
+        assertEquals(12, node.productCount());
+        assertEquals(0, tree.find("phones").orElseThrow().productCount());
+        assertEquals(3, tree.version());
+    }
+
+    @Test
+    void parentCycleDoesNotLoopForever() {
+        CategoryTree tree = CategoryTree.build(List.of(
+                category("a", "A", "b", 0, true),
+                category("b", "B", "a", 0, true)), Map.of(), 1);
+
+        assertEquals(16, tree.find("a").orElseThrow().path().size());
+    }
+
+    @Test
+    void unknownCategoryResolvesToOthers() {
+        CategoryTree tree = CategoryTree.build(CATEGORIES, Map.of(), 1);
+
+        assertEquals("laptops", tree.resolveOrFallback("laptops").id());
+        assertEquals("others", tree.resolveOrFallback("missing").id());
+        assertEquals("others", tree.resolveOrFallback(null).id());
+        assertNull(tree.nameOf("missing"));
+    }
+
+    @Test
+    void missingFallbackCategoryIsAnError() {
+        CategoryTree tree = CategoryTree.build(CATEGORIES.subList(0, 6), Map.of(), 1);
+
+        assertThrows(RuntimeException.class, () -> tree.resolveOrFallback("missing"));
+    }
+
+    private static Category category(String id, String name, String parentId, int sortOrder, boolean active) {
+        return Category.builder()
+                .id(id)
+                .name(name)
+                .parentId(parentId)
+                .sortOrder(sortOrder)
+                .isActive(active)
+                .build();
+    }
+
+    private static List<String> ids(List<CategoryTree.Node> nodes) {
+        return nodes.stream().map(CategoryTree.Node::id).toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.HomepageResponse;
+import com.dealharbor.dealharbor_backend.dto.PagedResponse;
+import com.dealharbor.dealharbor_backend.dto.ProductResponse;
+import com.dealharbor.dealharbor_backend.dto.ProductSummaryResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HomepageServiceTest {
+
+    private ProductService productService;
+    private HomepageService homepageService;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        homepageService = new HomepageService(productService, mock(CategoryPreviewService.class),
+                mock(SellerService.class), mock(TestimonialService.class), mock(PlatformTransactionManager.class), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        homepageService.shutdown();
+    }
+
+    @Test
+    void concurrentFirstRequestsShareOneRefresh() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PagedResponse<ProductResponse> featured = page();
+        when(productService.getFeaturedProducts(0, 20)).thenAnswer(invocation -> {
+            release.await();
+            return featured;
+        });
+
+        List<CompletableFuture<HomepageResponse>> requests = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            requests.add(CompletableFuture.supplyAsync(homepageService::getHomepage));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        for (CompletableFuture<HomepageResponse> request : requests) {
+            assertSame(featured, request.get(5, TimeUnit.SECONDS).getFeatured());
+        }
+        verify(productService, times(1)).getFeaturedProducts(0, 20);
+    }
+
+    @Test
+    void hungSectionIsCancelledAfterTheTimeout() {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(productService.getFeaturedProducts(0, 20)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return page();
+        });
+
+        long start = System.nanoTime();
+        HomepageResponse response = homepageService.getHomepage();
+
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(10).toNanos());
+        assertEquals(List.of("featured"), response.getFailedSections());
+        assertNull(response.getFeatured());
+        assertTrue(awaitQuietly(interrupted), "hung section thread was not interrupted");
+    }
+
+    @Test
+    void failedSectionKeepsItsValueFromThePreviousSnapshot() throws Exception {
+        PagedResponse<ProductResponse> featured = page();
+        PagedResponse<ProductSummaryResponse> trending = new PagedResponse<>(List.of(), 0, 12, 0, 0, true, true, false, false);
+        when(productService.getFeaturedProducts(0, 20))
+                .thenReturn(featured)
+                .thenThrow(new RuntimeException("database unavailable"));
+        when(productService.getTrendingProducts(0, 12))
+                .thenThrow(new RuntimeException("database unavailable"))
+                .thenReturn(trending);
+
+        HomepageResponse first = homepageService.getHomepage();
+        assertEquals(List.of("trending"), first.getFailedSections());
+        // A partial page is cached too, so an immediate second request does not rebuild it
+        assertSame(first, homepageService.getHomepage());
+
+        // Past the partial snapshot TTL the stale page is still served while one refresh runs
+        Thread.sleep(5_100);
+        assertSame(first, homepageService.getHomepage());
+        HomepageResponse second = first;
+        for (int i = 0; i < 100 && second == first; i++) {
+            Thread.sleep(50);
+            second = homepageService.getHomepage();
+        }
+
+        assertEquals(List.of("featured"), second.getFailedSections());
+        assertSame(featured, second.getFeatured());
+        assertSame(trending, second.getTrending());
+    }
+
+    private static PagedResponse<ProductResponse> page() {
+        return new PagedResponse<>(List.of(), 0, 20, 0, 0, true, true, false, false);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
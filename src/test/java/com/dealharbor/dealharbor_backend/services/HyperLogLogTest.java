@@ -0,0 +1,96 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    // Four standard errors of the 2^12-register sketch
+    private static final double TOLERANCE = 4 * 1.04 / Math.sqrt(4096);
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 1_000, 10_000, 100_000, 1_000_000})
+    void estimateIsWithinTheErrorBound(int distinct) {
+        HyperLogLog sketch = sketchOf(0, distinct);
+
+        assertWithinBound(distinct, sketch.estimate());
+    }
+
+    @Test
+    void repeatedValuesAreCountedOnce() {
+        HyperLogLog sketch = sketchOf(0, 500);
+
+        assertFalse(sketch.offer(HyperLogLog.hash("viewer-42")));
+        for (int pass = 0; pass < 10; pass++) {
+            for (int i = 0; i < 500; i++) {
+                sketch.offer(HyperLogLog.hash("viewer-" + i));
+            }
+        }
+
+        assertWithinBound(500, sketch.estimate());
+    }
+
+    @Test
+    void mergeIsTheUnionOfOverlappingSketches() {
+        HyperLogLog monday = sketchOf(0, 30_000);
+        HyperLogLog tuesday = sketchOf(20_000, 50_000);
+
+        assertTrue(monday.merge(tuesday));
+
+        assertWithinBound(50_000, monday.estimate());
+        // Idempotent: merging the same sketch again changes nothing
+        assertFalse(monday.merge(tuesday));
+        assertFalse(monday.merge(sketchOf(0, 10)));
+    }
+
+    @Test
+    void sparseSketchRoundTripsInFewBytes() {
+        HyperLogLog sketch = sketchOf(0, 20);
+
+        byte[] bytes = sketch.toBytes();
+
+        assertTrue(bytes.length <= 1 + 20 * 3, "sparse size " + bytes.length);
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertFalse(restored.merge(sketch));
+    }
+
+    @Test
+    void denseSketchRoundTrips() {
+        HyperLogLog sketch = sketchOf(0, 100_000);
+
+        byte[] bytes = sketch.toBytes();
+
+        assertEquals(1 + 4096, bytes.length);
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertFalse(restored.merge(sketch));
+        assertFalse(sketch.merge(restored));
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        HyperLogLog empty = new HyperLogLog();
+
+        assertEquals(0, empty.estimate());
+        assertEquals(0, HyperLogLog.fromBytes(empty.toBytes()).estimate());
+    }
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.offer(HyperLogLog.hash("viewer-" + i));
+        }
+        return sketch;
+    }
+
+    private static void assertWithinBound(long expected, long estimate) {
+        double error = Math.abs(estimate - expected) / (double) expected;
+        assertTrue(error <= TOLERANCE, "estimate " + estimate + " for " + expected + " is off by " + error);
+    }
+}
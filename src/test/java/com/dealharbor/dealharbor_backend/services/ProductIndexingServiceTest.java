@@ -0,0 +1,75 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.entities.Category;
+import com.dealharbor.dealharbor_backend.entities.Product;
+import com.dealharbor.dealharbor_backend.entities.User;
+import com.dealharbor.dealharbor_backend.enums.ProductStatus;
+import com.dealharbor.dealharbor_backend.repositories.ProductRepository;
+import com.dealharbor.dealharbor_backend.search.ProductChangedEvent;
+import com.dealharbor.dealharbor_backend.search.ProductSearchEngine;
+import com.dealharbor.dealharbor_backend.search.SearchResultCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductIndexingServiceTest {
+
+    private ProductRepository productRepository;
+    private ProductSearchEngine searchEngine;
+    private SearchResultCache searchResultCache;
+    private ProductIndexingService indexingService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        searchEngine = new ProductSearchEngine();
+        searchResultCache = mock(SearchResultCache.class);
+        indexingService = new ProductIndexingService(productRepository, searchEngine, searchResultCache);
+    }
+
+    @Test
+    void verificationChangeReindexesEverySellerListing() {
+        User seller = User.builder().id("seller").name("seller").isVerifiedStudent(false).build();
+        List<Product> listings = List.of(product("p1", seller), product("p2", seller));
+        when(productRepository.findAllForIndexing(ProductStatus.APPROVED)).thenReturn(listings);
+        indexingService.rebuildIndex();
+        assertFalse(searchEngine.getDocument("p1").sellerVerifiedStudent());
+
+        seller.setVerifiedStudent(true);
+        when(productRepository.findAllForIndexingBySeller("seller", ProductStatus.APPROVED)).thenReturn(listings);
+        indexingService.onSellerVerificationChanged(new SellerVerificationChangedEvent("seller"));
+
+        assertTrue(searchEngine.getDocument("p1").sellerVerifiedStudent());
+        assertTrue(searchEngine.getDocument("p2").sellerVerifiedStudent());
+        ArgumentCaptor<ProductChangedEvent> evicted = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(searchResultCache, times(2)).invalidate(evicted.capture());
+        evicted.getAllValues().forEach(event -> {
+            assertFalse(event.previous().sellerVerifiedStudent());
+            assertTrue(event.current().sellerVerifiedStudent());
+        });
+    }
+
+    private static Product product(String id, User seller) {
+        return Product.builder()
+                .id(id)
+                .title("Desk lamp " + id)
+                .description("Description")
+                .price(new BigDecimal("20.00"))
+                .seller(seller)
+                .category(Category.builder().id("furniture").name("furniture").build())
+                .status(ProductStatus.APPROVED)
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.dto.TopSellerResponse;
+import com.dealharbor.dealharbor_backend.entities.User;
+import com.dealharbor.dealharbor_backend.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SellerLeaderboardServiceTest {
+
+    private UserRepository userRepository;
+    private SellerLeaderboardService leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        leaderboard = new SellerLeaderboardService(userRepository, mock(JdbcTemplate.class));
+    }
+
+    @Test
+    void topIsOrderedByRatingThenSales() {
+        when(userRepository.findActiveSellers()).thenReturn(List.of(
+                seller("a", "4.50", 3, false),
+                seller("b", "4.90", 1, true),
+                seller("c", "4.50", 9, true),
+                seller("d", "3.00", 50, true)));
+        leaderboard.rebuild();
+
+        assertEquals(List.of("b", "c", "a"), ids(leaderboard.top(5, new BigDecimal("4.0"), false)));
+        assertEquals(List.of("b", "c"), ids(leaderboard.top(2, BigDecimal.ZERO, false)));
+    }
+
+    @Test
+    void verifiedOnlyBoardSkipsNoEntries() {
+        List<User> sellers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            sellers.add(seller("u" + i, "4.99", 1_000 - i, false));
+        }
+        sellers.add(seller("v1", "4.20", 5, true));
+        sellers.add(seller("v2", "4.10", 5, true));
+        when(userRepository.findActiveSellers()).thenReturn(sellers);
+        leaderboard.rebuild();
+
+        assertEquals(List.of("v1", "v2"), ids(leaderboard.top(6, new BigDecimal("4.0"), true)));
+        assertEquals(List.of("v1"), ids(leaderboard.top(6, new BigDecimal("4.15"), true)));
+    }
+
+    @Test
+    void statsChangeMovesSellerOnBothBoards() {
+        User rising = seller("rising", "4.10", 1, true);
+        when(userRepository.findActiveSellers()).thenReturn(List.of(seller("top", "4.50", 5, true), rising));
+        leaderboard.rebuild();
+
+        User updated = seller("rising", "4.80", 2, true);
+        when(userRepository.findById("rising")).thenReturn(Optional.of(updated));
+        leaderboard.onSellerStatsChanged(new SellerStatsChangedEvent("rising"));
+
+        assertEquals(List.of("rising", "top"), ids(leaderboard.top(5, BigDecimal.ZERO, false)));
+        assertEquals(List.of("rising", "top"), ids(leaderboard.top(5, BigDecimal.ZERO, true)));
+
+        // Losing verification drops the seller from the verified board only
+        when(userRepository.findById("rising")).thenReturn(Optional.of(seller("rising", "4.80", 2, false)));
+        leaderboard.onSellerStatsChanged(new SellerStatsChangedEvent("rising"));
+
+        assertEquals(List.of("rising", "top"), ids(leaderboard.top(5, BigDecimal.ZERO, false)));
+        assertEquals(List.of("top"), ids(leaderboard.top(5, BigDecimal.ZERO, true)));
+    }
+
+    @Test
+    void bannedSellerIsRemoved() {
+        when(userRepository.findActiveSellers()).thenReturn(List.of(seller("a", "4.50", 5, true)));
+        leaderboard.rebuild();
+        User banned = seller("a", "4.50", 5, true);
+        banned.setBanned(true);
+        when(userRepository.findById("a")).thenReturn(Optional.of(banned));
+
+        leaderboard.onSellerStatsChanged(new SellerStatsChangedEvent("a"));
+
+        assertEquals(List.of(), leaderboard.top(5, BigDecimal.ZERO, false));
+        assertEquals(List.of(), leaderboard.top(5, BigDecimal.ZERO, true));
+    }
+
+    private static User seller(String id, String rating, int sales, boolean verified) {
+        return User.builder()
+                .id(id)
+                .name(id)
+                .enabled(true)
+                .sellerRating(new BigDecimal(rating))
+                .totalSales(sales)
+                .isVerifiedStudent(verified)
+                .build();
+    }
+
+    private static List<String> ids(List<TopSellerResponse> sellers) {
+        return sellers.stream().map(TopSellerResponse::getId).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrendingScoresTest {
+
+    private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration HALF_LIFE = Duration.ofHours(6);
+
+    @Test
+    void topIsOrderedByScore() {
+        TrendingScores scores = new TrendingScores(3, HALF_LIFE, BASE);
+        scores.add("a", 1, BASE);
+        scores.add("b", 5, BASE);
+        scores.add("c", 3, BASE);
+
+        assertEquals(List.of("b", "c", "a"), scores.top());
+    }
+
+    @Test
+    void lowestEntryIsDisplacedOnceFull() {
+        TrendingScores scores = new TrendingScores(2, HALF_LIFE, BASE);
+        scores.add("a", 1, BASE);
+        scores.add("b", 2, BASE);
+        scores.add("c", 3, BASE);
+        assertEquals(List.of("c", "b"), scores.top());
+
+        // "a" keeps its score outside the heap and enters once it overtakes the minimum
+        scores.add("a", 2.5, BASE);
+        assertEquals(List.of("a", "c"), scores.top());
+    }
+
+    @Test
+    void laterEventsWeighMoreThanEarlierOnes() {
+        TrendingScores scores = new TrendingScores(2, HALF_LIFE, BASE);
+        scores.add("old", 3, BASE);
+        scores.add("new", 2, BASE.plus(HALF_LIFE));
+
+        // At one half-life, "old" has decayed to 1.5 while "new" is still 2
+        assertEquals(List.of("new", "old"), scores.top());
+        assertEquals(1.5, scores.scoreAt("old", BASE.plus(HALF_LIFE)), 1e-9);
+        assertEquals(2.0, scores.scoreAt("new", BASE.plus(HALF_LIFE)), 1e-9);
+    }
+
+    @Test
+    void removeLetsTheBestProductOutsideTheHeapMoveUp() {
+        TrendingScores scores = new TrendingScores(2, HALF_LIFE, BASE);
+        scores.add("a", 1, BASE);
+        scores.add("b", 2, BASE);
+        scores.add("c", 3, BASE);
+        scores.add("d", 4, BASE);
+
+        scores.remove("d");
+
+        assertEquals(List.of("c", "b"), scores.top());
+        assertEquals(3, scores.size());
+        assertEquals(0, scores.scoreAt("d", BASE));
+    }
+
+    @Test
+    void rebaseKeepsScoresAndOrderAndPrunesCleanEntries() {
+        TrendingScores scores = new TrendingScores(3, HALF_LIFE, BASE);
+        scores.add("a", 8, BASE);
+        scores.add("b", 4, BASE);
+        scores.add("c", 0.5, BASE);
+        scores.drainDirty(BASE);
+        scores.add("d", 0.1, BASE);
+        Instant later = BASE.plus(HALF_LIFE.multipliedBy(2));
+
+        scores.rebase(later, 0.2);
+
+        assertEquals(later, scores.base());
+        assertEquals(2.0, scores.scoreAt("a", later), 1e-9);
+        assertEquals(1.0, scores.scoreAt("b", later), 1e-9);
+        // "c" decayed to 0.125 and was clean, so it is pruned; "d" is below too but has an unsaved change
+        assertEquals(0, scores.scoreAt("c", later));
+        assertEquals(List.of("a", "b", "d"), scores.top());
+    }
+
+    @Test
+    void drainReturnsCurrentScoresOfChangedEntriesOnce() {
+        TrendingScores scores = new TrendingScores(3, HALF_LIFE, BASE);
+        scores.add("a", 4, BASE);
+        scores.restore("b", 2, BASE);
+
+        Map<String, Double> changed = scores.drainDirty(BASE.plus(HALF_LIFE));
+
+        assertEquals(Map.of("a", 2.0), changed);
+        assertTrue(scores.drainDirty(BASE.plus(HALF_LIFE)).isEmpty());
+        scores.markDirty(List.of("b", "missing"));
+        assertEquals(Map.of("b", 2.0), scores.drainDirty(BASE));
+    }
+
+    @Test
+    void heapMatchesAFullSortUnderRandomAddsAndRemoves() {
+        Random random = new Random(7);
+        TrendingScores scores = new TrendingScores(10, HALF_LIFE, BASE);
+        Map<String, Double> expected = new HashMap<>();
+        Instant now = BASE;
+        for (int i = 0; i < 5_000; i++) {
+            now = now.plusSeconds(random.nextInt(60));
+            String id = "p" + random.nextInt(2_000);
+            if (random.nextInt(10) == 0) {
+                scores.remove(id);
+                expected.remove(id);
+            } else {
+                scores.add(id, 1 + random.nextInt(5), now);
+                expected.put(id, 0.0);
+            }
+        }
+
+        Instant end = now;
+        List<String> sorted = new ArrayList<>(expected.keySet());
+        sorted.sort(Comparator.comparingDouble((String id) -> scores.scoreAt(id, end)).reversed());
+        assertEquals(sorted.subList(0, 10), scores.top());
+        assertEquals(expected.size(), scores.size());
+    }
+}
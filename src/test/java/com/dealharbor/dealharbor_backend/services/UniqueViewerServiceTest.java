@@ -0,0 +1,102 @@
+package com.dealharbor.dealharbor_backend.services;
+
+import com.dealharbor.dealharbor_backend.entities.ProductViewerSketch;
+import com.dealharbor.dealharbor_backend.repositories.ProductViewerSketchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UniqueViewerServiceTest {
+
+    private final Map<String, ProductViewerSketch> rows = new HashMap<>();
+    private final List<UniqueViewersCountedEvent> published = new ArrayList<>();
+    private UniqueViewerService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ProductViewerSketchRepository repository = mock(ProductViewerSketchRepository.class);
+        when(repository.findByProductIdInAndDayGreaterThanEqual(any(), any())).thenAnswer(invocation -> {
+            Collection<String> productIds = invocation.getArgument(0);
+            LocalDate since = invocation.getArgument(1);
+            return rows.values().stream()
+                    .filter(row -> productIds.contains(row.getProductId()) && !row.getDay().isBefore(since))
+                    .toList();
+        });
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            for (ProductViewerSketch row : (Iterable<ProductViewerSketch>) invocation.getArgument(0)) {
+                rows.put(row.getProductId() + "/" + row.getDay(), row);
+            }
+            return null;
+        });
+        ApplicationEventPublisher publisher = event -> published.add((UniqueViewersCountedEvent) event);
+        service = new UniqueViewerService(repository, mock(JdbcTemplate.class), publisher,
+                mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void viewsAreStoredUnderTheDayTheyHappened() {
+        Instant now = Instant.now();
+        Instant yesterday = now.minus(1, ChronoUnit.DAYS);
+        service.onEngagement(new ProductEngagementEvent("p1", ProductEngagementEvent.Kind.VIEW, "user:a", yesterday));
+        service.onEngagement(new ProductEngagementEvent("p1", ProductEngagementEvent.Kind.VIEW, "user:b", now));
+
+        service.flush();
+
+        assertEquals(1, sketch("p1", yesterday).estimate());
+        assertEquals(1, sketch("p1", now).estimate());
+        assertEquals(2, service.weeklyUniqueViewers("p1"));
+    }
+
+    @Test
+    void remergedPreviousGenerationIsNotCountedAgain() {
+        Instant yesterday = Instant.now().minus(1, ChronoUnit.DAYS);
+        service.onEngagement(new ProductEngagementEvent("p1", ProductEngagementEvent.Kind.VIEW, "user:a", yesterday));
+
+        service.flush();
+        // The next flush re-merges the previous generation; it must land on yesterday's row again
+        service.flush();
+
+        assertEquals(1, published.size());
+        assertEquals(1, published.get(0).newViewers());
+        assertEquals(1, rows.size());
+        assertEquals(1, sketch("p1", yesterday).estimate());
+    }
+
+    @Test
+    void repeatViewsFromTheSameViewerCountOnce() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 5; i++) {
+            service.onEngagement(ProductEngagementEvent.viewed("p1", "ip:10.0.0.1"));
+        }
+        service.onEngagement(ProductEngagementEvent.favorited("p1"));
+
+        service.flush();
+
+        assertEquals(1, sketch("p1", now).estimate());
+        assertEquals(1, service.getViewerStats("p1").getUniqueViewersToday());
+        assertTrue(published.stream().allMatch(event -> event.newViewers() == 1));
+    }
+
+    private HyperLogLog sketch(String productId, Instant at) {
+        return HyperLogLog.fromBytes(rows.get(productId + "/" + LocalDate.ofInstant(at, ZoneOffset.UTC)).getSketch());
+    }
+}